@@ -1,3 +1,6 @@
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Array-like structure with fixed size and bulk set operation.
@@ -6,6 +9,11 @@
  */
 public interface BulkArray<T> {
 
+    /**
+     * Returns number of elements.
+     */
+    int size();
+
     /**
      * Returns the value at specified index.
      * Computational complexity is O(1).
@@ -24,4 +32,46 @@ public interface BulkArray<T> {
      */
     void setAll(T value);
 
+    /**
+     * Performs the action for every element in index order.
+     * Computational complexity is O(n).
+     */
+    default void forEach(Consumer<? super T> action) {
+        for (int i = 0, size = size(); i < size; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    /**
+     * Copies {@code length} elements starting from index {@code from}
+     * to {@code dest} starting from position {@code destPos}.
+     * Computational complexity is O(length).
+     */
+    default void copyTo(int from, Object[] dest, int destPos, int length) throws ArrayIndexOutOfBoundsException {
+        if (from < 0 || length < 0 || from > size() - length || destPos < 0 || destPos > dest.length - length) {
+            throw new ArrayIndexOutOfBoundsException("Range " + from + " + " + length + " to " + destPos);
+        }
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = get(from + i);
+        }
+    }
+
+    /**
+     * Returns all elements in a new array.
+     * Computational complexity is O(n).
+     */
+    default Object[] toArray() {
+        Object[] result = new Object[size()];
+        copyTo(0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Returns a lazy stream of elements in index order.
+     * Every element is read when the stream reaches it.
+     */
+    default Stream<T> stream() {
+        return IntStream.range(0, size()).mapToObj(this::get);
+    }
+
 }
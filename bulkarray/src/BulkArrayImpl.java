@@ -1,20 +1,248 @@
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Implementation of {@link BulkArray} based on generation stamps.
+ *
+ * Every slot remembers the generation it was last written in, and {@link #setAll}
+ * only starts a new generation with a new default value. Slots written in earlier
+ * generations are treated as holding that value and never read again.
+ *
+ * To release references held by such outdated slots, every write also clears a couple
+ * of slots past a cursor cycling over the array, so each outdated reference
+ * is dropped within a bounded number of operations.
+ *
+ * Bulk reads compare stamps against the generation read once, and fill the whole
+ * range with the bulk value when nothing has been set since the last {@code setAll}.
+ */
 public class BulkArrayImpl<T> implements BulkArray<T> {
 
+    private static final int SWEEP = 2;
+
+    private final Object[] values;
+    private final long[] stamps;
+    private long generation;
+    private T bulkValue;
+    private boolean bulkOnly = true;
+    private int sweepCursor;
+
+    private final Set<SnapshotRef> snapshots = new HashSet<>();
+    private final Map<Long, Integer> liveSnapshots = new HashMap<>();
+    private final ReferenceQueue<Snapshot> collected = new ReferenceQueue<>();
+
     public BulkArrayImpl(int capacity) {
+        values = new Object[capacity];
+        stamps = new long[capacity];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public T get(int index) {
-        return null;
+        return stamps[index] == generation ? (T) values[index] : bulkValue;
     }
 
+    /**
+     * Sets the specified value to the specified index.
+     * Computational complexity is O(1) per live snapshot.
+     */
     @Override
     public void set(int index, T value) {
+        if (!snapshots.isEmpty()) {
+            expunge();
+            preserve(index);
+        }
+        stamps[index] = generation;
+        values[index] = value;
+        bulkOnly = false;
+        sweep();
     }
 
+    /**
+     * Sets the specified value to all indexes.
+     * Computational complexity is O(1), plus amortized O(1) per snapshot
+     * garbage collected since the previous call.
+     */
     @Override
     public void setAll(T value) {
+        expunge();
+        bulkValue = value;
+        generation++;
+        bulkOnly = true;
+        sweep();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        long current = generation;
+        T bulk = bulkValue;
+        if (bulkOnly) {
+            for (int i = 0; i < values.length; i++) {
+                action.accept(bulk);
+            }
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            action.accept(stamps[i] == current ? (T) values[i] : bulk);
+        }
+    }
+
+    @Override
+    public void copyTo(int from, Object[] dest, int destPos, int length) {
+        if (from < 0 || length < 0 || from > values.length - length || destPos < 0 || destPos > dest.length - length) {
+            throw new ArrayIndexOutOfBoundsException("Range " + from + " + " + length + " to " + destPos);
+        }
+        if (bulkOnly) {
+            Arrays.fill(dest, destPos, destPos + length, bulkValue);
+            return;
+        }
+        long current = generation;
+        T bulk = bulkValue;
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = stamps[from + i] == current ? values[from + i] : bulk;
+        }
+    }
+
+    /**
+     * Returns a lazy stream of elements in index order.
+     *
+     * The generation and the bulk value are read once when the stream is created, so the
+     * stream must be consumed before the array is modified again.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<T> stream() {
+        long current = generation;
+        T bulk = bulkValue;
+        if (bulkOnly) {
+            return IntStream.range(0, values.length).mapToObj(i -> bulk);
+        }
+        return IntStream.range(0, values.length).mapToObj(i -> stamps[i] == current ? (T) values[i] : bulk);
+    }
+
+    /**
+     * Returns a read-only view of the current contents that is not affected by further changes.
+     *
+     * Taking a snapshot is amortized O(1). While it is reachable, every {@link #set} first saves
+     * the value the snapshot sees at that index, unless it has already been saved. Once it has
+     * been garbage collected, it is forgotten by the next call to {@code snapshot}, {@code set}
+     * or {@code setAll}.
+     */
+    public BulkArray<T> snapshot() {
+        expunge();
+        Snapshot snapshot = new Snapshot();
+        snapshots.add(new SnapshotRef(snapshot, collected));
+        liveSnapshots.merge(snapshot.generation, 1, Integer::sum);
+        return snapshot;
+    }
+
+    /**
+     * Returns number of snapshots not yet known to be garbage collected.
+     */
+    int snapshots() {
+        return snapshots.size();
+    }
+
+    /**
+     * Forgets snapshots that have been garbage collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        for (SnapshotRef ref; (ref = (SnapshotRef) collected.poll()) != null; ) {
+            if (snapshots.remove(ref)) {
+                liveSnapshots.computeIfPresent(ref.generation, (generation, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    private void preserve(int index) {
+        for (SnapshotRef ref : snapshots) {
+            Snapshot snapshot = ref.get();
+            if (snapshot != null && !snapshot.saved.containsKey(index)) {
+                snapshot.saved.put(index, snapshot.stored(index));
+            }
+        }
+    }
+
+    private void sweep() {
+        for (int i = 0; i < SWEEP && values.length > 0; i++) {
+            int index = sweepCursor;
+            if (stamps[index] != generation && !retained(stamps[index])) {
+                values[index] = null;
+            }
+            sweepCursor = index + 1 == values.length ? 0 : index + 1;
+        }
+    }
+
+    /**
+     * Tells whether slots written in the given generation may still be read by a snapshot.
+     */
+    private boolean retained(long stamp) {
+        return !liveSnapshots.isEmpty() && liveSnapshots.containsKey(stamp);
+    }
+
+    /**
+     * Weak reference to a snapshot, remembering its generation after it has been collected.
+     */
+    private class SnapshotRef extends WeakReference<Snapshot> {
+
+        final long generation;
+
+        SnapshotRef(Snapshot snapshot, ReferenceQueue<Snapshot> queue) {
+            super(snapshot, queue);
+            this.generation = snapshot.generation;
+        }
+
+    }
+
+    private class Snapshot implements BulkArray<T> {
+
+        final long generation = BulkArrayImpl.this.generation;
+        final T bulkValue = BulkArrayImpl.this.bulkValue;
+        final Map<Integer, T> saved = new HashMap<>();
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public T get(int index) {
+            T value = saved.get(index);
+            return value != null || saved.containsKey(index) ? value : stored(index);
+        }
+
+        /**
+         * Returns the value of a slot that has not been written since the snapshot was taken.
+         */
+        @SuppressWarnings("unchecked")
+        T stored(int index) {
+            return stamps[index] == generation ? (T) values[index] : bulkValue;
+        }
+
+        @Override
+        public void set(int index, T value) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public void setAll(T value) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
     }
 
 }
@@ -0,0 +1,100 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe implementation of {@link BulkArray} with linearizable operations and no locks.
+ *
+ * Slots hold immutable cells of a value and the generation it was written in.
+ * The current generation and the value of the last {@link #setAll} form another immutable
+ * cell, which {@code setAll} replaces by compare-and-set. A slot is current only if its
+ * generation matches, otherwise the bulk value applies. {@link #set} replaces a slot
+ * by compare-and-set too, so a write based on an outdated generation can never hide
+ * a later one.
+ *
+ * Like {@link BulkArrayImpl}, writes also drop a couple of outdated cells past a cursor
+ * to release the values they reference. Every thread keeps its own cursor, starting at
+ * a random index, so writers do not contend on it.
+ */
+public class ConcurrentBulkArray<T> implements BulkArray<T> {
+
+    private static final int SWEEP = 2;
+
+    private final AtomicReferenceArray<Cell<T>> slots;
+    private final AtomicReference<Cell<T>> bulk = new AtomicReference<>(new Cell<>(null, 0));
+    private final ThreadLocal<int[]> sweepCursor;
+
+    private static class Cell<T> {
+        final T value;
+        final long generation;
+
+        Cell(T value, long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
+    public ConcurrentBulkArray(int capacity) {
+        slots = new AtomicReferenceArray<>(capacity);
+        sweepCursor = ThreadLocal.withInitial(() -> new int[] { ThreadLocalRandom.current().nextInt(capacity) });
+    }
+
+    @Override
+    public int size() {
+        return slots.length();
+    }
+
+    @Override
+    public T get(int index) {
+        Cell<T> slot = slots.get(checkIndex(index));
+        Cell<T> all = bulk.get();
+        return slot != null && slot.generation == all.generation ? slot.value : all.value;
+    }
+
+    @Override
+    public void set(int index, T value) {
+        checkIndex(index);
+        for (;;) {
+            Cell<T> slot = slots.get(index);
+            if (slots.compareAndSet(index, slot, new Cell<>(value, bulk.get().generation))) {
+                break;
+            }
+        }
+        sweep();
+    }
+
+    @Override
+    public void setAll(T value) {
+        for (;;) {
+            Cell<T> all = bulk.get();
+            if (bulk.compareAndSet(all, new Cell<>(value, all.generation + 1))) {
+                break;
+            }
+        }
+        sweep();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= slots.length()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return index;
+    }
+
+    private void sweep() {
+        int length = slots.length();
+        if (length == 0) {
+            return;
+        }
+        int[] cursor = sweepCursor.get();
+        for (int i = 0; i < SWEEP; i++) {
+            int index = cursor[0];
+            Cell<T> slot = slots.get(index);
+            if (slot != null && slot.generation < bulk.get().generation) {
+                slots.compareAndSet(index, slot, null);
+            }
+            cursor[0] = index + 1 == length ? 0 : index + 1;
+        }
+    }
+
+}
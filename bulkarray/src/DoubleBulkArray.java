@@ -0,0 +1,25 @@
+
+/**
+ * Specialization of {@link BulkArray} for {@code double} values, initially all zero.
+ */
+public interface DoubleBulkArray {
+
+    /**
+     * Returns the value at specified index.
+     * Computational complexity is O(1).
+     */
+    double get(int index) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to the specified index.
+     * Computational complexity is O(1).
+     */
+    void set(int index, double value) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to all indexes.
+     * Computational complexity is O(1).
+     */
+    void setAll(double value);
+
+}
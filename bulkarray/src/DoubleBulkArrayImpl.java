@@ -0,0 +1,35 @@
+
+/**
+ * Implementation of {@link DoubleBulkArray} based on generation stamps, like {@link BulkArrayImpl}.
+ * Values are stored unboxed, so no sweeping of outdated slots is needed.
+ */
+public class DoubleBulkArrayImpl implements DoubleBulkArray {
+
+    private final double[] values;
+    private final long[] stamps;
+    private long generation;
+    private double bulkValue;
+
+    public DoubleBulkArrayImpl(int capacity) {
+        values = new double[capacity];
+        stamps = new long[capacity];
+    }
+
+    @Override
+    public double get(int index) {
+        return stamps[index] == generation ? values[index] : bulkValue;
+    }
+
+    @Override
+    public void set(int index, double value) {
+        stamps[index] = generation;
+        values[index] = value;
+    }
+
+    @Override
+    public void setAll(double value) {
+        bulkValue = value;
+        generation++;
+    }
+
+}
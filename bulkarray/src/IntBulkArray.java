@@ -0,0 +1,25 @@
+
+/**
+ * Specialization of {@link BulkArray} for {@code int} values, initially all zero.
+ */
+public interface IntBulkArray {
+
+    /**
+     * Returns the value at specified index.
+     * Computational complexity is O(1).
+     */
+    int get(int index) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to the specified index.
+     * Computational complexity is O(1).
+     */
+    void set(int index, int value) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to all indexes.
+     * Computational complexity is O(1).
+     */
+    void setAll(int value);
+
+}
@@ -0,0 +1,35 @@
+
+/**
+ * Implementation of {@link IntBulkArray} based on generation stamps, like {@link BulkArrayImpl}.
+ * Values are stored unboxed, so no sweeping of outdated slots is needed.
+ */
+public class IntBulkArrayImpl implements IntBulkArray {
+
+    private final int[] values;
+    private final long[] stamps;
+    private long generation;
+    private int bulkValue;
+
+    public IntBulkArrayImpl(int capacity) {
+        values = new int[capacity];
+        stamps = new long[capacity];
+    }
+
+    @Override
+    public int get(int index) {
+        return stamps[index] == generation ? values[index] : bulkValue;
+    }
+
+    @Override
+    public void set(int index, int value) {
+        stamps[index] = generation;
+        values[index] = value;
+    }
+
+    @Override
+    public void setAll(int value) {
+        bulkValue = value;
+        generation++;
+    }
+
+}
@@ -0,0 +1,33 @@
+
+/**
+ * Array-like structure with fixed size and bulk set operation,
+ * indexed by {@code long} to allow more than {@link Integer#MAX_VALUE} elements.
+ *
+ * @param <T> type of containing elements
+ */
+public interface LargeBulkArray<T> {
+
+    /**
+     * Returns number of elements.
+     */
+    long capacity();
+
+    /**
+     * Returns the value at specified index.
+     * Computational complexity is O(1).
+     */
+    T get(long index) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to the specified index.
+     * Computational complexity is O(1).
+     */
+    void set(long index, T value) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to all indexes.
+     * Computational complexity is O(1).
+     */
+    void setAll(T value);
+
+}
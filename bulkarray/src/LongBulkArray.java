@@ -0,0 +1,25 @@
+
+/**
+ * Specialization of {@link BulkArray} for {@code long} values, initially all zero.
+ */
+public interface LongBulkArray {
+
+    /**
+     * Returns the value at specified index.
+     * Computational complexity is O(1).
+     */
+    long get(int index) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to the specified index.
+     * Computational complexity is O(1).
+     */
+    void set(int index, long value) throws ArrayIndexOutOfBoundsException;
+
+    /**
+     * Sets the specified value to all indexes.
+     * Computational complexity is O(1).
+     */
+    void setAll(long value);
+
+}
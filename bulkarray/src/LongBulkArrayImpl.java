@@ -0,0 +1,35 @@
+
+/**
+ * Implementation of {@link LongBulkArray} based on generation stamps, like {@link BulkArrayImpl}.
+ * Values are stored unboxed, so no sweeping of outdated slots is needed.
+ */
+public class LongBulkArrayImpl implements LongBulkArray {
+
+    private final long[] values;
+    private final long[] stamps;
+    private long generation;
+    private long bulkValue;
+
+    public LongBulkArrayImpl(int capacity) {
+        values = new long[capacity];
+        stamps = new long[capacity];
+    }
+
+    @Override
+    public long get(int index) {
+        return stamps[index] == generation ? values[index] : bulkValue;
+    }
+
+    @Override
+    public void set(int index, long value) {
+        stamps[index] = generation;
+        values[index] = value;
+    }
+
+    @Override
+    public void setAll(long value) {
+        bulkValue = value;
+        generation++;
+    }
+
+}
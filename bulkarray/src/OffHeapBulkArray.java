@@ -0,0 +1,180 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implementation of {@link BulkArray} and {@link LargeBulkArray} keeping values
+ * and generation stamps outside of the heap, in direct byte buffers.
+ *
+ * Values are converted to and from fixed-width binary form by a {@link Codec}.
+ * Every slot holds an 8-byte stamp followed by the encoded value, and the slots are
+ * spread over buffers of at most 1 GiB, so capacity is not limited by the maximum
+ * size of a Java array or buffer. The memory is freed when the array is garbage collected.
+ *
+ * Like in {@link BulkArrayImpl}, all elements are initially {@code null}, and {@code null} may be
+ * set like any other value: it is not passed to the codec but stored as a negated stamp.
+ */
+public class OffHeapBulkArray<T> implements BulkArray<T>, LargeBulkArray<T> {
+
+    private static final int MAX_CHUNK = 1 << 30;
+
+    private final Codec<T> codec;
+    private final long capacity;
+    private final int slotSize;
+    private final int slotsPerChunk;
+    private final ByteBuffer[] chunks;
+    private long generation = 1;
+    private T bulkValue;
+
+    /**
+     * Converts values to and from a fixed number of bytes.
+     * Values passed to {@link #write} are never {@code null}.
+     */
+    public interface Codec<T> {
+
+        /**
+         * Returns number of bytes of an encoded value.
+         */
+        int size();
+
+        void write(ByteBuffer buffer, int offset, T value);
+
+        T read(ByteBuffer buffer, int offset);
+
+    }
+
+    public static final Codec<Integer> INT = new Codec<Integer>() {
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    public static final Codec<Double> DOUBLE = new Codec<Double>() {
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double value) {
+            buffer.putDouble(offset, value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    public OffHeapBulkArray(long capacity, Codec<T> codec) {
+        this(capacity, codec, MAX_CHUNK);
+    }
+
+    OffHeapBulkArray(long capacity, Codec<T> codec, int chunkSize) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        this.codec = codec;
+        this.capacity = capacity;
+        this.slotSize = 8 + codec.size();
+        this.slotsPerChunk = chunkSize / slotSize;
+        this.chunks = new ByteBuffer[(int) ((capacity + slotsPerChunk - 1) / slotsPerChunk)];
+        for (int i = 0; i < chunks.length; i++) {
+            long slots = Math.min(slotsPerChunk, capacity - (long) i * slotsPerChunk);
+            chunks[i] = ByteBuffer.allocateDirect((int) slots * slotSize).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns number of elements, use {@link #capacity} if it may exceed {@link Integer#MAX_VALUE}.
+     *
+     * @throws ArithmeticException if the capacity does not fit into {@code int}
+     */
+    @Override
+    public int size() {
+        return Math.toIntExact(capacity);
+    }
+
+    @Override
+    public T get(int index) {
+        return get((long) index);
+    }
+
+    @Override
+    public void set(int index, T value) {
+        set((long) index, value);
+    }
+
+    @Override
+    public T get(long index) {
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        long stamp = chunk.getLong(offset);
+        if (stamp == generation) {
+            return codec.read(chunk, offset + 8);
+        }
+        return stamp == -generation ? null : bulkValue;
+    }
+
+    @Override
+    public void set(long index, T value) {
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        if (value == null) {
+            chunk.putLong(offset, -generation);
+        } else {
+            codec.write(chunk, offset + 8, value);
+            chunk.putLong(offset, generation);
+        }
+    }
+
+    @Override
+    public void setAll(T value) {
+        bulkValue = value;
+        generation++;
+    }
+
+    private ByteBuffer chunk(long index) {
+        if (index < 0 || index >= capacity) {
+            throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for capacity " + capacity);
+        }
+        return chunks[(int) (index / slotsPerChunk)];
+    }
+
+    private int offset(long index) {
+        return (int) (index % slotsPerChunk) * slotSize;
+    }
+
+}
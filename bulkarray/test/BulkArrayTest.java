@@ -1,5 +1,9 @@
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class BulkArrayTest {
@@ -74,4 +78,69 @@ public class BulkArrayTest {
         }
     }
 
+    @Test
+    public void bulkReads() {
+        BulkArray<String> a = new BulkArrayImpl<>(4);
+        assertArrayEquals(new Object[] { null, null, null, null }, a.toArray());
+        a.setAll("a");
+        assertArrayEquals(new Object[] { "a", "a", "a", "a" }, a.toArray());
+        a.set(2, "b");
+        assertArrayEquals(new Object[] { "a", "a", "b", "a" }, a.toArray());
+        assertEquals(Arrays.asList("a", "b"), a.stream().skip(1).limit(2).distinct().collect(Collectors.toList()));
+
+        Object[] range = new Object[3];
+        a.copyTo(1, range, 1, 2);
+        assertArrayEquals(new Object[] { null, "a", "b" }, range);
+
+        StringBuilder all = new StringBuilder();
+        a.forEach(all::append);
+        assertEquals("aaba", all.toString());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void copyOutOfBounds() {
+        new BulkArrayImpl<String>(3).copyTo(2, new Object[5], 0, 2);
+    }
+
+    @Test
+    public void snapshots() {
+        BulkArrayImpl<String> a = new BulkArrayImpl<>(3);
+        a.set(0, "x");
+        BulkArray<String> first = a.snapshot();
+        a.setAll("y");
+        a.set(1, "z");
+        BulkArray<String> second = a.snapshot();
+        a.set(0, "w");
+        a.setAll(null);
+        a.set(2, "v");
+
+        assertArrayEquals(new Object[] { "x", null, null }, first.toArray());
+        assertArrayEquals(new Object[] { "y", "z", "y" }, second.toArray());
+        assertArrayEquals(new Object[] { null, null, "v" }, a.toArray());
+    }
+
+    @Test
+    public void collectedSnapshotsAreForgotten() {
+        BulkArrayImpl<String> a = new BulkArrayImpl<>(3);
+        for (int i = 0; i < 20_000; i++) {
+            a.snapshot();
+            a.setAll("x");
+        }
+        for (int i = 0; i < 100 && a.snapshots() > 0; i++) {
+            System.gc();
+            a.setAll("y");
+        }
+        assertEquals(0, a.snapshots());
+    }
+
+    @Test
+    public void streamAfterSetAll() {
+        BulkArrayImpl<String> a = new BulkArrayImpl<>(3);
+        a.set(1, "a");
+        a.setAll("b");
+        assertEquals(Arrays.asList("b", "b", "b"), a.stream().collect(Collectors.toList()));
+        a.set(2, "c");
+        assertEquals(Arrays.asList("b", "b", "c"), a.stream().collect(Collectors.toList()));
+    }
+
 }
@@ -0,0 +1,85 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentBulkArrayTest {
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBounds1() {
+        new ConcurrentBulkArray<Void>(5).get(-1);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBounds2() {
+        new ConcurrentBulkArray<Void>(5).set(5, null);
+    }
+
+    @Test
+    public void advancedSetters() {
+        BulkArray<String> a = new ConcurrentBulkArray<>(3);
+        a.set(1, "Hello");
+        a.setAll("World");
+        a.set(0, "Hello");
+        assertEquals("Hello", a.get(0));
+        assertEquals("World", a.get(1));
+        assertEquals("World", a.get(2));
+        a.setAll(null);
+        assertEquals(null, a.get(0));
+    }
+
+    /**
+     * Workers write increasing numbers to their own slots while a control thread keeps
+     * resetting the array with negative markers. A worker must read back either its
+     * last write or a marker, never an older write of its own.
+     */
+    @Test
+    public void stress_test() throws Exception {
+        int workers = 8;
+        int slotsPerWorker = 64;
+        BulkArray<Long> a = new ConcurrentBulkArray<>(workers * slotsPerWorker);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Throwable> problems = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int first = w * slotsPerWorker;
+            threads.add(new Thread(() -> {
+                try {
+                    long counter = 0;
+                    while (!stop.get()) {
+                        int index = first + (int) (counter % slotsPerWorker);
+                        a.set(index, ++counter);
+                        Long read = a.get(index);
+                        assertTrue("read " + read + " after " + counter, read == counter || read < 0);
+                    }
+                } catch (Throwable t) {
+                    problems.add(t);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            long marker = 0;
+            while (!stop.get()) {
+                a.setAll(--marker);
+            }
+        }));
+        threads.forEach(Thread::start);
+        Thread.sleep(1000);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(problems.toString(), problems.isEmpty());
+        a.setAll(0L);
+        for (int i = 0; i < workers * slotsPerWorker; i++) {
+            assertEquals(Long.valueOf(0), a.get(i));
+        }
+    }
+
+}
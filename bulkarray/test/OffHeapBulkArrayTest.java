@@ -0,0 +1,69 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OffHeapBulkArrayTest {
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBounds1() {
+        new OffHeapBulkArray<>(5, OffHeapBulkArray.LONG).get(-1);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBounds2() {
+        new OffHeapBulkArray<>(5, OffHeapBulkArray.LONG).set(5L, 1L);
+    }
+
+    @Test
+    public void setters() {
+        BulkArray<Integer> a = new OffHeapBulkArray<>(3, OffHeapBulkArray.INT);
+        assertEquals(null, a.get(0));
+        a.set(1, 5);
+        assertEquals(Integer.valueOf(5), a.get(1));
+        a.setAll(7);
+        a.set(0, 0);
+        assertEquals(Integer.valueOf(0), a.get(0));
+        assertEquals(Integer.valueOf(7), a.get(1));
+        a.setAll(null);
+        assertEquals(null, a.get(2));
+    }
+
+    @Test
+    public void nullElements() {
+        BulkArray<Long> a = new OffHeapBulkArray<>(3, OffHeapBulkArray.LONG);
+        a.setAll(4L);
+        a.set(0, null);
+        a.set(1, 5L);
+        assertEquals(null, a.get(0));
+        assertEquals(Long.valueOf(5), a.get(1));
+        assertEquals(Long.valueOf(4), a.get(2));
+        a.setAll(6L);
+        assertEquals(Long.valueOf(6), a.get(0));
+        a.set(1, null);
+        a.set(1, 7L);
+        assertEquals(Long.valueOf(7), a.get(1));
+    }
+
+    @Test
+    public void severalBuffers() {
+        LargeBulkArray<Double> a = new OffHeapBulkArray<>(1000, OffHeapBulkArray.DOUBLE, 16 * 64);
+        long last = a.capacity() - 1;
+        a.setAll(1.5);
+        a.set(last, 2.5);
+        a.set(0, 0.5);
+        assertEquals(0.5, a.get(0), 0);
+        assertEquals(1.5, a.get(last / 2), 0);
+        assertEquals(2.5, a.get(last), 0);
+    }
+
+    @Test(timeout = 2000)
+    public void testStess() {
+        BulkArray<Long> a = new OffHeapBulkArray<>(1024 * 1024 + 1, OffHeapBulkArray.LONG);
+        for (int i = 0; i < 1024 * 1024; i++) {
+            a.set(i, (long) i);
+            a.setAll(i + 1L);
+        }
+        assertEquals(Long.valueOf(1024 * 1024), a.get(0));
+    }
+
+}
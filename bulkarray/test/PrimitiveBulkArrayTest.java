@@ -0,0 +1,65 @@
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrimitiveBulkArrayTest {
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBoundsInt() {
+        new IntBulkArrayImpl(5).get(5);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBoundsLong() {
+        new LongBulkArrayImpl(5).set(-1, 0);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void outOfBoundsDouble() {
+        new DoubleBulkArrayImpl(5).get(7);
+    }
+
+    @Test
+    public void intSetters() {
+        IntBulkArray a = new IntBulkArrayImpl(3);
+        assertEquals(0, a.get(0));
+        a.set(1, 5);
+        a.setAll(7);
+        a.set(0, 1);
+        assertEquals(1, a.get(0));
+        assertEquals(7, a.get(1));
+        assertEquals(7, a.get(2));
+    }
+
+    @Test
+    public void longSetters() {
+        LongBulkArray a = new LongBulkArrayImpl(3);
+        a.setAll(Long.MAX_VALUE);
+        a.set(2, -1);
+        assertEquals(Long.MAX_VALUE, a.get(0));
+        assertEquals(-1, a.get(2));
+        a.setAll(0);
+        assertEquals(0, a.get(2));
+    }
+
+    @Test
+    public void doubleSetters() {
+        DoubleBulkArray a = new DoubleBulkArrayImpl(3);
+        a.set(0, 0.5);
+        assertEquals(0.5, a.get(0), 0);
+        assertEquals(0, a.get(1), 0);
+        a.setAll(Double.NaN);
+        assertEquals(Double.NaN, a.get(0), 0);
+    }
+
+    @Test(timeout = 2000)
+    public void testStress() {
+        IntBulkArray a = new IntBulkArrayImpl(1024 * 1024 + 1);
+        for (int i = 0; i < 1024 * 1024; i++) {
+            a.set(i, i);
+            a.setAll(i + 1);
+        }
+        assertEquals(1024 * 1024, a.get(0));
+    }
+
+}
@@ -0,0 +1,83 @@
+package dfs;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Throwables.propagate;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Children function that memoizes child lists of another, expensive one.
+ *
+ * Can be passed to {@link UtilDFS#DFS} instead of the original function and reused
+ * between traversals of the same graph. The number of memoized nodes is bounded,
+ * least recently used entries are evicted first. Nodes whose children have changed
+ * must be {@link #invalidate invalidated} explicitly.
+ *
+ * Instances are thread-safe if the original function is.
+ */
+public class CachedChildren<N> implements Function<N, Stream<N>> {
+
+    private final LoadingCache<N, List<N>> cache;
+
+    /**
+     * @param children       original children function
+     * @param maximumSize    maximum number of nodes to keep child lists for
+     * @param weakKeys       whether entries may be dropped once a node is no longer referenced
+     *                       elsewhere; weak keys are compared by identity rather than {@code equals}
+     */
+    public CachedChildren(Function<N, Stream<N>> children, long maximumSize, boolean weakKeys) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats();
+        if (weakKeys) {
+            builder.weakKeys();
+        }
+        this.cache = builder.build(new CacheLoader<N, List<N>>() {
+            @Override
+            public List<N> load(N node) {
+                return unmodifiableList(children.apply(node).collect(toList()));
+            }
+        });
+    }
+
+    public CachedChildren(Function<N, Stream<N>> children, long maximumSize) {
+        this(children, maximumSize, false);
+    }
+
+    @Override
+    public Stream<N> apply(N node) {
+        try {
+            return cache.getUnchecked(node).stream();
+        } catch (UncheckedExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Forgets children of the node, they will be requested again on next access.
+     */
+    public void invalidate(N node) {
+        cache.invalidate(node);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns hit, miss, load time and eviction statistics since creation.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+}
@@ -0,0 +1,124 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Iterative depth-first traversal yielding nodes in pre-order.
+ *
+ * The current path is kept on an explicit stack together with a lazily pulled
+ * iterator of children for each path element, so the depth of the graph is limited
+ * by the heap only. Children of a node are not requested until the node has been
+ * returned and the next one is asked for. Every known node is mapped either to its
+ * depth on the current path or to {@link #DONE} once all of its descendants have
+ * been visited.
+ */
+class DFSIterator<N> implements Iterator<N> {
+
+    private static final int DONE = -1;
+
+    private final Iterator<N> roots;
+    private final Function<N, Stream<N>> children;
+    private final DFSMetrics metrics;
+
+    private final Map<N, Integer> depths = new HashMap<>();
+    private final List<N> path = new ArrayList<>();
+    private final List<Iterator<N>> pending = new ArrayList<>();
+
+    private N next;
+    private boolean hasNext;
+
+    DFSIterator(Collection<N> roots, Function<N, Stream<N>> children) {
+        this(roots, children, null);
+    }
+
+    /**
+     * @param metrics    statistics to update, or {@code null}
+     */
+    DFSIterator(Collection<N> roots, Function<N, Stream<N>> children, DFSMetrics metrics) {
+        this.roots = roots.iterator();
+        this.children = children;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean hasNext() throws AbstractCycleException {
+        if (!hasNext) {
+            advance();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public N next() throws AbstractCycleException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = false;
+        return enter(next);
+    }
+
+    /**
+     * Finds the next unvisited node, popping exhausted path elements on the way.
+     */
+    private void advance() {
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            Iterator<N> it = pending.get(top);
+            if (it == null) {
+                it = children.apply(path.get(top)).iterator();
+                pending.set(top, it);
+            }
+            if (it.hasNext()) {
+                N child = it.next();
+                Integer depth = depths.get(child);
+                if (metrics != null) {
+                    metrics.examined(depth != null);
+                }
+                if (depth == null) {
+                    found(child);
+                    return;
+                }
+                if (depth != DONE) {
+                    throw new UtilDFS.CycleException(path.subList(depth, path.size()));
+                }
+            } else {
+                depths.put(path.remove(top), DONE);
+                pending.remove(top);
+            }
+        }
+        while (roots.hasNext()) {
+            N root = roots.next();
+            if (!depths.containsKey(root)) {
+                found(root);
+                return;
+            }
+        }
+    }
+
+    private void found(N node) {
+        next = node;
+        hasNext = true;
+    }
+
+    private N enter(N node) {
+        if (metrics != null) {
+            metrics.visited(path.size());
+        }
+        depths.put(node, path.size());
+        path.add(node);
+        pending.add(null);
+        next = null;
+        return node;
+    }
+
+}
@@ -0,0 +1,154 @@
+package dfs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of a traversal made by {@link UtilDFS#DFS(java.util.Collection, java.util.function.Function,
+ * java.util.function.Consumer, DFSMetrics)}.
+ *
+ * The same instance may be passed to several traversals to accumulate their statistics.
+ * Not thread-safe.
+ */
+public class DFSMetrics {
+
+    private long nodes;
+    private long edges;
+    private long cycleChecks;
+    private int maxDepth;
+    private long elapsedNanos;
+
+    private final Histogram childrenLatency = new Histogram();
+    private final Histogram actionLatency = new Histogram();
+
+    void visited(int depth) {
+        nodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void examined(boolean known) {
+        edges++;
+        if (known) {
+            cycleChecks++;
+        }
+    }
+
+    void elapsed(long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    /**
+     * Returns number of nodes visited.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns number of edges examined.
+     */
+    public long edges() {
+        return edges;
+    }
+
+    /**
+     * Returns number of edges leading to already discovered nodes, each of which is checked for closing a cycle.
+     */
+    public long cycleChecks() {
+        return cycleChecks;
+    }
+
+    /**
+     * Returns maximum length of the path from a root, the root itself has depth {@code 0}.
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    public long elapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns latencies of calls to the children function.
+     * Lazy streams are timed up to their creation only.
+     */
+    public Histogram childrenLatency() {
+        return childrenLatency;
+    }
+
+    /**
+     * Returns latencies of calls to the action.
+     */
+    public Histogram actionLatency() {
+        return actionLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d nodes, %d edges, %d cycle checks, max depth %d, %.0f nodes/s; children %s; action %s",
+            nodes, edges, cycleChecks, maxDepth, nodesPerSecond(), childrenLatency, actionLatency);
+    }
+
+    /**
+     * Latency histogram with power-of-two buckets in nanoseconds.
+     */
+    public static class Histogram {
+
+        private final long[] buckets = new long[64];
+        private long count;
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))]++;
+            count++;
+            total += nanos;
+            if (nanos > max) {
+                max = nanos;
+            }
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max(TimeUnit unit) {
+            return unit.convert(max, TimeUnit.NANOSECONDS);
+        }
+
+        public double mean(TimeUnit unit) {
+            return count == 0 ? 0 : (double) total / count / unit.toNanos(1);
+        }
+
+        /**
+         * Returns an upper estimate of the latency below which the given fraction of calls fall.
+         *
+         * @param fraction    fraction of calls from {@code 0} to {@code 1}
+         */
+        public long percentile(double fraction, TimeUnit unit) {
+            long threshold = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold && seen > 0) {
+                    return unit.convert(Math.min(max, (1L << i) - 1), TimeUnit.NANOSECONDS);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d calls, mean %.0f ns, p99 %d ns, max %d ns",
+                count, mean(TimeUnit.NANOSECONDS), percentile(0.99, TimeUnit.NANOSECONDS), max);
+        }
+
+    }
+
+}
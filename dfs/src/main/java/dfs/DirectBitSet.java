@@ -0,0 +1,35 @@
+package dfs;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Fixed-size bitset stored in a direct buffer, outside of the heap.
+ */
+class DirectBitSet implements IntGraphDFS.Bits {
+
+    private final LongBuffer words;
+
+    DirectBitSet(int size) {
+        int count = (int) (((long) size + 63) >>> 6);
+        this.words = ByteBuffer.allocateDirect(count * 8).asLongBuffer();
+    }
+
+    @Override
+    public boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    @Override
+    public void set(int index) {
+        int word = index >>> 6;
+        words.put(word, words.get(word) | (1L << index));
+    }
+
+    @Override
+    public void clear(int index) {
+        int word = index >>> 6;
+        words.put(word, words.get(word) & ~(1L << index));
+    }
+
+}
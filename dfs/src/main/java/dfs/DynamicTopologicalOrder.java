@@ -0,0 +1,201 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Directed acyclic graph that keeps a topological order of its nodes up to date
+ * while edges are added and removed.
+ *
+ * Uses the Pearce-Kelly algorithm: when a new edge contradicts the current order,
+ * only the nodes whose positions lie between its ends are searched and reordered,
+ * so there is no need to traverse the graph again from its roots. Adding an edge
+ * that closes a cycle is rejected and leaves the graph unchanged.
+ *
+ * Not thread-safe.
+ */
+public class DynamicTopologicalOrder<N> {
+
+    private final Map<N, Vertex> vertices = new HashMap<>();
+    private final List<Vertex> order = new ArrayList<>();
+
+    private class Vertex {
+        final N node;
+        final Set<Vertex> out = new LinkedHashSet<>();
+        final Set<Vertex> in = new LinkedHashSet<>();
+        int ord;
+        boolean visited;
+
+        Vertex(N node, int ord) {
+            this.node = node;
+            this.ord = ord;
+        }
+    }
+
+    /**
+     * Adds a node without edges to the end of the order, does nothing if the node is already known.
+     */
+    public void addNode(N node) {
+        vertex(node);
+    }
+
+    /**
+     * Adds an edge from parent to child, adding the nodes as well if necessary.
+     *
+     * @throws AbstractCycleException if the edge would close a cycle; the cycle starts with {@code from}
+     */
+    public void addEdge(N from, N to) throws AbstractCycleException {
+        if (from.equals(to)) {
+            throw new UtilDFS.CycleException(Collections.singletonList(from));
+        }
+        Vertex x = vertex(from);
+        Vertex y = vertex(to);
+        if (x.out.contains(y)) {
+            return;
+        }
+        if (y.ord < x.ord) {
+            reorder(x, y);
+        }
+        x.out.add(y);
+        y.in.add(x);
+    }
+
+    /**
+     * Removes an edge if present. The current order remains valid, so nothing is recomputed.
+     */
+    public void removeEdge(N from, N to) {
+        Vertex x = vertices.get(from);
+        Vertex y = vertices.get(to);
+        if (x != null && y != null && x.out.remove(y)) {
+            y.in.remove(x);
+        }
+    }
+
+    public boolean contains(N node) {
+        return vertices.containsKey(node);
+    }
+
+    /**
+     * Returns children of a known node, can be used as children function for {@link UtilDFS#DFS}.
+     */
+    public Stream<N> children(N node) {
+        Vertex v = vertices.get(node);
+        return v == null ? Stream.empty() : v.out.stream().map(c -> c.node);
+    }
+
+    /**
+     * Returns all nodes, every parent precedes all of its descendants.
+     */
+    public List<N> order() {
+        return order.stream().map(v -> v.node).collect(toList());
+    }
+
+    private Vertex vertex(N node) {
+        return vertices.computeIfAbsent(node, n -> {
+            Vertex v = new Vertex(n, order.size());
+            order.add(v);
+            return v;
+        });
+    }
+
+    /**
+     * Restores the order for a new edge {@code x -> y} with {@code y} currently placed before {@code x}.
+     */
+    private void reorder(Vertex x, Vertex y) {
+        List<Vertex> forward = new ArrayList<>();
+        List<Vertex> backward = new ArrayList<>();
+        try {
+            searchForward(y, x, forward);
+            searchBackward(x, y.ord, backward);
+        } finally {
+            forward.forEach(v -> v.visited = false);
+            backward.forEach(v -> v.visited = false);
+        }
+
+        forward.sort(comparingInt(v -> v.ord));
+        backward.sort(comparingInt(v -> v.ord));
+        List<Vertex> affected = new ArrayList<>(backward);
+        affected.addAll(forward);
+        int[] slots = affected.stream().mapToInt(v -> v.ord).sorted().toArray();
+        for (int i = 0; i < slots.length; i++) {
+            Vertex v = affected.get(i);
+            v.ord = slots[i];
+            order.set(slots[i], v);
+        }
+    }
+
+    /**
+     * Collects descendants of {@code start} placed no later than {@code bound}.
+     *
+     * @throws AbstractCycleException if {@code bound} itself is reachable
+     */
+    private void searchForward(Vertex start, Vertex bound, List<Vertex> found) {
+        Map<Vertex, Vertex> parents = new HashMap<>();
+        Deque<Vertex> stack = new ArrayDeque<>();
+        start.visited = true;
+        found.add(start);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Vertex v = stack.pop();
+            for (Vertex w : v.out) {
+                if (w == bound) {
+                    throw new UtilDFS.CycleException(cycle(bound, v, parents));
+                }
+                if (!w.visited && w.ord < bound.ord) {
+                    w.visited = true;
+                    parents.put(w, v);
+                    found.add(w);
+                    stack.push(w);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects ancestors of {@code start} placed after {@code bound}.
+     */
+    private void searchBackward(Vertex start, int bound, List<Vertex> found) {
+        Deque<Vertex> stack = new ArrayDeque<>();
+        start.visited = true;
+        found.add(start);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Vertex v = stack.pop();
+            for (Vertex w : v.in) {
+                if (!w.visited && w.ord > bound) {
+                    w.visited = true;
+                    found.add(w);
+                    stack.push(w);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the cycle closed by the new edge {@code from -> start}, where {@code last -> from}
+     * is an existing edge and {@code start} is reachable by {@code parents} links from {@code last}.
+     */
+    private List<N> cycle(Vertex from, Vertex last, Map<Vertex, Vertex> parents) {
+        List<N> path = new ArrayList<>();
+        for (Vertex v = last; v != null; v = parents.get(v)) {
+            path.add(v.node);
+        }
+        path.add(from.node);
+        Collections.reverse(path);
+        return path;
+    }
+
+}
@@ -0,0 +1,153 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Depth-first traversal of a graph with int nodes in compressed sparse row form:
+ * children of node {@code n} are {@code target(offset(n)) .. target(offset(n + 1) - 1)}.
+ *
+ * The graph and the visited and on-path marks are accessed through small interfaces, so the same
+ * walk serves both int arrays and memory-mapped files. For arrays all state is allocated once
+ * up front: two bitsets and two stacks of node count size. Nothing is allocated per node or per edge.
+ */
+class IntGraphDFS {
+
+    /**
+     * Read access to offsets and targets of a graph.
+     */
+    interface Graph {
+        long offset(int node);
+
+        int target(long edge);
+    }
+
+    /**
+     * Fixed-size set of node marks.
+     */
+    interface Bits {
+        boolean get(int index);
+
+        void set(int index);
+
+        void clear(int index);
+    }
+
+    private final Graph graph;
+    private final Bits visited;
+    private final Bits onPath;
+
+    private int[] path;
+    private long[] cursors;
+
+    /**
+     * @param capacity    initial depth of the path stack, which grows when exceeded
+     */
+    IntGraphDFS(Graph graph, Bits visited, Bits onPath, int capacity) {
+        this.graph = graph;
+        this.visited = visited;
+        this.onPath = onPath;
+        this.path = new int[Math.max(capacity, 1)];
+        this.cursors = new long[path.length];
+    }
+
+    static void run(int[] offsets, int[] targets, int[] roots, IntConsumer action) throws AbstractCycleException {
+        int size = offsets.length - 1;
+        Graph graph = new Graph() {
+            @Override
+            public long offset(int node) {
+                return offsets[node];
+            }
+
+            @Override
+            public int target(long edge) {
+                return targets[(int) edge];
+            }
+        };
+        new IntGraphDFS(graph, new HeapBits(size), new HeapBits(size), size).run(roots, action);
+    }
+
+    void run(int[] roots, IntConsumer action) throws AbstractCycleException {
+        for (int root : roots) {
+            if (!visited.get(root)) {
+                walk(root, action);
+            }
+        }
+    }
+
+    private void walk(int root, IntConsumer action) {
+        int top = enter(root, 0, action);
+        while (top >= 0) {
+            int node = path[top];
+            long cursor = cursors[top];
+            if (cursor < graph.offset(node + 1)) {
+                cursors[top] = cursor + 1;
+                int child = graph.target(cursor);
+                if (!visited.get(child)) {
+                    top = enter(child, top + 1, action);
+                } else if (onPath.get(child)) {
+                    throw new UtilDFS.CycleException(cycle(child, top));
+                }
+            } else {
+                onPath.clear(node);
+                top--;
+            }
+        }
+    }
+
+    private int enter(int node, int top, IntConsumer action) {
+        if (top == path.length) {
+            path = Arrays.copyOf(path, top * 2);
+            cursors = Arrays.copyOf(cursors, top * 2);
+        }
+        visited.set(node);
+        onPath.set(node);
+        path[top] = node;
+        cursors[top] = graph.offset(node);
+        action.accept(node);
+        return top;
+    }
+
+    private List<Integer> cycle(int start, int top) {
+        int from = top;
+        while (path[from] != start) {
+            from--;
+        }
+        List<Integer> cycle = new ArrayList<>(top - from + 1);
+        for (int i = from; i <= top; i++) {
+            cycle.add(path[i]);
+        }
+        return cycle;
+    }
+
+    /**
+     * Bitset on the heap, a plain long array without the bounds growth of {@link java.util.BitSet}.
+     */
+    private static class HeapBits implements Bits {
+        private final long[] words;
+
+        HeapBits(int size) {
+            this.words = new long[(int) (((long) size + 63) >>> 6)];
+        }
+
+        @Override
+        public boolean get(int index) {
+            return (words[index >>> 6] & (1L << index)) != 0;
+        }
+
+        @Override
+        public void set(int index) {
+            words[index >>> 6] |= 1L << index;
+        }
+
+        @Override
+        public void clear(int index) {
+            words[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Read-only graph with int nodes stored in a memory-mapped file.
+ *
+ * The file is a compressed sparse row graph in big-endian byte order:
+ * <pre>
+ *   int   magic
+ *   int   node count n
+ *   long  edge count m
+ *   long  offsets[n + 1]   children of node i are targets[offsets[i]] .. targets[offsets[i + 1] - 1]
+ *   int   targets[m]
+ * </pre>
+ * Files are produced with {@link #writer}. The file is mapped in chunks of 1 GiB, so its size
+ * is not limited by the maximum size of a single buffer, and nothing but the traversal stack
+ * is kept on the heap.
+ */
+public class MappedGraph implements Closeable {
+
+    private static final int MAGIC = 0x44465347;
+    private static final int HEADER = 16;
+    private static final int CHUNK_BITS = 30;
+
+    private final FileChannel channel;
+    private final int chunkBits;
+    private final long chunkMask;
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+    private final long edges;
+    private final long targetsStart;
+
+    private MappedGraph(FileChannel channel, int chunkBits) throws IOException {
+        this.channel = channel;
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1L << chunkBits) - 1;
+        long length = channel.size();
+        this.chunks = new MappedByteBuffer[(int) ((length + chunkMask) >>> chunkBits)];
+        for (int i = 0; i < chunks.length; i++) {
+            long position = (long) i << chunkBits;
+            chunks[i] = channel.map(READ_ONLY, position, Math.min(chunkMask + 1, length - position));
+        }
+        if (length < HEADER || getInt(0) != MAGIC) {
+            throw new IOException("Not a graph file");
+        }
+        this.size = getInt(4);
+        this.edges = getLong(8);
+        this.targetsStart = HEADER + 8L * (size + 1);
+        if (length != targetsStart + 4L * edges) {
+            throw new IOException("Truncated graph file");
+        }
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        return open(file, CHUNK_BITS);
+    }
+
+    /**
+     * Opens a graph mapped in chunks of {@code 2^chunkBits} bytes. Values are aligned to their size,
+     * so any chunk size of at least 8 bytes keeps every value within a single chunk.
+     */
+    static MappedGraph open(Path file, int chunkBits) throws IOException {
+        if (chunkBits < 3 || chunkBits > CHUNK_BITS) {
+            throw new IllegalArgumentException("Chunk bits out of range: " + chunkBits);
+        }
+        FileChannel channel = FileChannel.open(file, READ);
+        try {
+            return new MappedGraph(channel, chunkBits);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a writer of a graph file with the given number of nodes.
+     */
+    public static Writer writer(Path file, int size) throws IOException {
+        return new Writer(file, size);
+    }
+
+    /**
+     * Returns number of nodes, which are numbered from {@code 0}.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long edges() {
+        return edges;
+    }
+
+    /**
+     * Returns children of a node, can be used as children function for {@link UtilDFS#DFS}.
+     */
+    public Stream<Integer> children(Integer node) {
+        return LongStream.range(offset(node), offset(node + 1)).mapToObj(this::target);
+    }
+
+    /**
+     * Walks the graph in the same way as {@link UtilDFS#DFS(int[], int[], int[], IntConsumer)} does
+     * for arrays. Visited and on-path marks are kept in off-heap bitsets.
+     *
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
+    void walk(int[] roots, IntConsumer action) throws AbstractCycleException {
+        IntGraphDFS.Graph graph = new IntGraphDFS.Graph() {
+            @Override
+            public long offset(int node) {
+                return MappedGraph.this.offset(node);
+            }
+
+            @Override
+            public int target(long edge) {
+                return MappedGraph.this.target(edge);
+            }
+        };
+        new IntGraphDFS(graph, new DirectBitSet(size), new DirectBitSet(size), 16).run(roots, action);
+    }
+
+    /**
+     * Returns number of buffers the file is mapped in.
+     */
+    int chunks() {
+        return chunks.length;
+    }
+
+    /**
+     * Closes the file. Mapped memory is released by the garbage collector once
+     * the graph is no longer referenced.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long offset(int node) {
+        if (node < 0 || node > size) {
+            throw new IndexOutOfBoundsException("Node " + node + " of " + size);
+        }
+        return getLong(HEADER + 8L * node);
+    }
+
+    private int target(long edge) {
+        return getInt(targetsStart + 4L * edge);
+    }
+
+    private int getInt(long position) {
+        return chunks[(int) (position >>> chunkBits)].getInt((int) (position & chunkMask));
+    }
+
+    private long getLong(long position) {
+        return chunks[(int) (position >>> chunkBits)].getLong((int) (position & chunkMask));
+    }
+
+    /**
+     * Streams a graph into a file. Children of every node must be added in order of node numbers.
+     */
+    public static class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final int size;
+        private final ByteBuffer offsets = ByteBuffer.allocate(1 << 16).order(ByteOrder.BIG_ENDIAN);
+        private final ByteBuffer targets = ByteBuffer.allocate(1 << 16).order(ByteOrder.BIG_ENDIAN);
+        private long offsetsPosition = HEADER;
+        private long targetsPosition;
+        private int nodes;
+        private long edges;
+
+        private Writer(Path file, int size) throws IOException {
+            this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+            this.size = size;
+            this.targetsPosition = HEADER + 8L * (size + 1);
+        }
+
+        /**
+         * Adds the next node with the given children.
+         */
+        public Writer add(int... children) throws IOException {
+            if (nodes == size) {
+                throw new IllegalStateException("All " + size + " nodes are already added");
+            }
+            putOffset();
+            for (int child : children) {
+                if (child < 0 || child >= size) {
+                    throw new IllegalArgumentException("Node " + child + " of " + size);
+                }
+                if (!targets.hasRemaining()) {
+                    targetsPosition += flush(targets, targetsPosition);
+                }
+                targets.putInt(child);
+            }
+            edges += children.length;
+            nodes++;
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (nodes != size) {
+                    throw new IllegalStateException("Only " + nodes + " of " + size + " nodes are added");
+                }
+                putOffset();
+                offsetsPosition += flush(offsets, offsetsPosition);
+                targetsPosition += flush(targets, targetsPosition);
+                ByteBuffer header = ByteBuffer.allocate(HEADER);
+                header.putInt(MAGIC).putInt(size).putLong(edges);
+                flush(header, 0);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void putOffset() throws IOException {
+            if (!offsets.hasRemaining()) {
+                offsetsPosition += flush(offsets, offsetsPosition);
+            }
+            offsets.putLong(edges);
+        }
+
+        private int flush(ByteBuffer buffer, long position) throws IOException {
+            // cast to Buffer, ByteBuffer.flip() does not exist on Java 8 runtimes
+            ((Buffer) buffer).flip();
+            int length = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + length - buffer.remaining());
+            }
+            ((Buffer) buffer).clear();
+            return length;
+        }
+
+    }
+
+}
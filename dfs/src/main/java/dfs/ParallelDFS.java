@@ -0,0 +1,112 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Fork-join traversal of a graph.
+ *
+ * Nodes are claimed by adding them to a concurrent set, so every reachable node is
+ * expanded by exactly one task. Children found while expanding a node are recorded,
+ * and once the parallel walk is complete the recorded edges are checked for cycles
+ * with a sequential traversal that does not call {@code children} again.
+ *
+ * Tasks never join each other: each one is a {@link CountedCompleter} that completes its
+ * parent once it and everything it forked are done, so the stack depth of a worker does not
+ * grow with the depth of the graph. The first exception thrown by {@code children} or
+ * {@code action} is recorded, no further nodes are expanded, and it is rethrown once all
+ * running tasks have finished.
+ */
+class ParallelDFS<N> {
+
+    private final Function<N, Stream<N>> children;
+    private final Consumer<N> action;
+
+    private final Set<N> claimed = ConcurrentHashMap.newKeySet();
+    private final Map<N, List<N>> edges = new ConcurrentHashMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private ParallelDFS(Function<N, Stream<N>> children, Consumer<N> action) {
+        this.children = children;
+        this.action = action;
+    }
+
+    static <N> void run(ForkJoinPool pool, Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) throws AbstractCycleException {
+        ParallelDFS<N> dfs = new ParallelDFS<>(children, action);
+        pool.invoke(new CountedCompleter<Void>() {
+            @Override
+            public void compute() {
+                for (N root : roots) {
+                    if (dfs.claimed.add(root)) {
+                        addToPendingCount(1);
+                        dfs.new Visit(this, root).fork();
+                    }
+                }
+                tryComplete();
+            }
+        });
+        Throwable failure = dfs.failure.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw (Error) failure;
+        }
+        new DFSIterator<>(roots, n -> dfs.edges.get(n).stream()).forEachRemaining(n -> { });
+    }
+
+    /**
+     * Expands a claimed node. The first newly claimed child is expanded in the same task,
+     * the rest are forked, so chains do not produce a task per node.
+     */
+    private class Visit extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final N node;
+
+        Visit(CountedCompleter<?> parent, N node) {
+            super(parent);
+            this.node = node;
+        }
+
+        @Override
+        public void compute() {
+            N current = node;
+            try {
+                while (current != null && failure.get() == null) {
+                    action.accept(current);
+                    List<N> next = children.apply(current).collect(toList());
+                    edges.put(current, next);
+                    current = null;
+                    for (N child : next) {
+                        if (claimed.add(child)) {
+                            if (current == null) {
+                                current = child;
+                            } else {
+                                addToPendingCount(1);
+                                new Visit(this, child).fork();
+                            }
+                        }
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+            }
+            tryComplete();
+        }
+    }
+
+}
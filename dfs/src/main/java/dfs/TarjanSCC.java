@@ -0,0 +1,118 @@
+package dfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Tarjan's strongly connected components algorithm with an explicit stack.
+ *
+ * Every node gets a discovery index kept in a map until its component is complete,
+ * then the index is replaced with {@link #DONE}. Low-link values are needed only for
+ * nodes on the current path, so they are kept in an array parallel to the path.
+ */
+class TarjanSCC<N> {
+
+    private static final int DONE = -1;
+
+    private final Function<N, Stream<N>> children;
+
+    private final Map<N, Integer> indexes = new HashMap<>();
+    private final Set<N> selfLoops = new HashSet<>();
+    private final List<N> stack = new ArrayList<>();
+    private final List<N> path = new ArrayList<>();
+    private final List<Iterator<N>> pending = new ArrayList<>();
+    private int[] lows = new int[16];
+
+    private final List<List<N>> cycles = new ArrayList<>();
+    private final List<N> acyclic = new ArrayList<>();
+
+    private TarjanSCC(Function<N, Stream<N>> children) {
+        this.children = children;
+    }
+
+    static <N> List<List<N>> run(Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) {
+        TarjanSCC<N> scc = new TarjanSCC<>(children);
+        for (N root : roots) {
+            if (!scc.indexes.containsKey(root)) {
+                scc.walk(root);
+            }
+        }
+        // components are completed children first
+        for (int i = scc.acyclic.size() - 1; i >= 0; i--) {
+            action.accept(scc.acyclic.get(i));
+        }
+        return scc.cycles;
+    }
+
+    private void walk(N root) {
+        enter(root);
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            N node = path.get(top);
+            Iterator<N> it = pending.get(top);
+            if (it.hasNext()) {
+                N child = it.next();
+                Integer index = indexes.get(child);
+                if (index == null) {
+                    enter(child);
+                } else if (index != DONE) {
+                    lows[top] = Math.min(lows[top], index);
+                    if (child.equals(node)) {
+                        selfLoops.add(node);
+                    }
+                }
+            } else {
+                path.remove(top);
+                pending.remove(top);
+                if (lows[top] == indexes.get(node)) {
+                    complete(node);
+                }
+                if (top > 0) {
+                    lows[top - 1] = Math.min(lows[top - 1], lows[top]);
+                }
+            }
+        }
+    }
+
+    private void enter(N node) {
+        int top = path.size();
+        if (top == lows.length) {
+            lows = Arrays.copyOf(lows, top * 2);
+        }
+        int index = indexes.size();
+        lows[top] = index;
+        indexes.put(node, index);
+        stack.add(node);
+        path.add(node);
+        pending.add(children.apply(node).iterator());
+    }
+
+    /**
+     * Pops the component rooted at {@code node} from the stack.
+     */
+    private void complete(N node) {
+        int from = stack.size() - 1;
+        while (!stack.get(from).equals(node)) {
+            from--;
+        }
+        List<N> members = stack.subList(from, stack.size());
+        if (members.size() > 1 || selfLoops.contains(node)) {
+            cycles.add(new ArrayList<>(members));
+        } else {
+            acyclic.add(node);
+        }
+        members.forEach(m -> indexes.put(m, DONE));
+        members.clear();
+    }
+
+}
@@ -1,21 +1,175 @@
 package dfs;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Joiner.on;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Spliterator.DISTINCT;
+import static java.util.Spliterator.ORDERED;
 
 public class UtilDFS {
 
-    // TODO implement
+    /**
+     * Walks the graph depth-first starting from {@code roots} and performs {@code action}
+     * on every reachable node exactly once, in pre-order: each node before the nodes first
+     * discovered through it. A node reachable from several parents is visited right after
+     * the first of them, so this is not a topological order; see {@link #findCycles} for one.
+     *
+     * The traversal does not recurse, so arbitrarily deep chains are supported.
+     *
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
     public static <N> void DFS(Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) throws AbstractCycleException {
-        throw new UnsupportedOperationException("Not implemented yet");
+        new DFSIterator<>(roots, children).forEachRemaining(action);
+    }
+
+    /**
+     * Returns a lazy stream of nodes reachable from {@code roots} in the order {@link #DFS} visits them.
+     *
+     * The graph is explored only as far as the stream is consumed, so short-circuiting operations
+     * such as {@code findFirst} or {@code limit} do not walk the rest of it. Children of a node
+     * are requested only when the element following it is needed.
+     *
+     * @throws AbstractCycleException from the terminal operation when a cycle is reached
+     */
+    public static <N> Stream<N> stream(Collection<N> roots, Function<N, Stream<N>> children) {
+        DFSIterator<N> nodes = new DFSIterator<>(roots, children);
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<N>(Long.MAX_VALUE, ORDERED | DISTINCT) {
+            @Override
+            public boolean tryAdvance(Consumer<? super N> action) {
+                if (!nodes.hasNext()) {
+                    return false;
+                }
+                action.accept(nodes.next());
+                return true;
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super N> action) {
+                nodes.forEachRemaining(action);
+            }
+        }, false);
+    }
+
+    /**
+     * Same as {@link #DFS(Collection, Function, Consumer)}, additionally collecting statistics
+     * of the traversal into {@code metrics}. Without metrics nothing is measured.
+     *
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
+    public static <N> void DFS(Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action, DFSMetrics metrics) throws AbstractCycleException {
+        if (metrics == null) {
+            DFS(roots, children, action);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            new DFSIterator<>(roots, timedChildren(children, metrics.childrenLatency()), metrics)
+                .forEachRemaining(timedAction(action, metrics.actionLatency()));
+        } finally {
+            metrics.elapsed(System.nanoTime() - start);
+        }
+    }
+
+    private static <N> Function<N, Stream<N>> timedChildren(Function<N, Stream<N>> children, DFSMetrics.Histogram latency) {
+        return n -> {
+            long start = System.nanoTime();
+            try {
+                return children.apply(n);
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static <N> Consumer<N> timedAction(Consumer<N> action, DFSMetrics.Histogram latency) {
+        return n -> {
+            long start = System.nanoTime();
+            try {
+                action.accept(n);
+            } finally {
+                latency.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Finds all cycles reachable from {@code roots} in a single pass instead of failing on the first one.
+     *
+     * Every strongly connected component that contains a cycle, that is has several nodes
+     * or a node being its own child, is returned as a list of its members. All other
+     * reachable nodes are passed to {@code action}, parents before their children,
+     * once the whole graph has been walked.
+     *
+     * @return cyclic components, empty if the graph is acyclic
+     */
+    public static <N> List<List<N>> findCycles(Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) {
+        return TarjanSCC.run(roots, children, action);
+    }
+
+    /**
+     * Specialization of {@link #DFS} for graphs with nodes numbered from {@code 0} to {@code offsets.length - 2}
+     * given in compressed sparse row form: children of node {@code n} are stored in
+     * {@code targets} from index {@code offsets[n]} inclusive to {@code offsets[n + 1]} exclusive.
+     *
+     * Apart from a fixed amount of memory proportional to the number of nodes, the traversal
+     * does not allocate. Cycles are reported as lists of {@link Integer}.
+     *
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
+    public static void DFS(int[] offsets, int[] targets, int[] roots, IntConsumer action) throws AbstractCycleException {
+        IntGraphDFS.run(offsets, targets, roots, action);
+    }
+
+    /**
+     * Specialization of {@link #DFS} for graphs stored in a memory-mapped file.
+     *
+     * @see MappedGraph
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
+    public static void DFS(MappedGraph graph, int[] roots, IntConsumer action) throws AbstractCycleException {
+        graph.walk(roots, action);
+    }
+
+    /**
+     * Parallel variant of {@link #DFS} running on the common fork-join pool.
+     *
+     * @see #parallelDFS(ForkJoinPool, Collection, Function, Consumer)
+     */
+    public static <N> void parallelDFS(Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) throws AbstractCycleException {
+        parallelDFS(ForkJoinPool.commonPool(), roots, children, action);
+    }
+
+    /**
+     * Performs {@code action} on every node reachable from {@code roots} exactly once,
+     * expanding independent subtrees concurrently in {@code pool}.
+     *
+     * A node is passed to {@code action} before its children are requested, but there is
+     * no ordering between unrelated nodes, so both {@code children} and {@code action}
+     * must be thread-safe. Cycles are checked after the whole graph has been expanded,
+     * which means the action has been performed on every reachable node by the time
+     * the exception is thrown. If {@code children} or {@code action} throws, no further
+     * nodes are expanded and the first exception is rethrown once all calls in progress
+     * have returned, so {@code action} is never called after this method has returned.
+     *
+     * @throws AbstractCycleException if a cycle is reachable from the roots
+     */
+    public static <N> void parallelDFS(ForkJoinPool pool, Collection<N> roots, Function<N, Stream<N>> children, Consumer<N> action) throws AbstractCycleException {
+        ParallelDFS.run(pool, roots, children, action);
     }
 
     static abstract class AbstractCycleException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
         public abstract List<Object> getCycle();
 
         @Override
@@ -24,4 +178,19 @@ public class UtilDFS {
         }
     }
 
+    static class CycleException extends AbstractCycleException {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Object> cycle;
+
+        CycleException(List<?> cycle) {
+            this.cycle = unmodifiableList(new ArrayList<>(cycle));
+        }
+
+        @Override
+        public List<Object> getCycle() {
+            return cycle;
+        }
+    }
+
 }
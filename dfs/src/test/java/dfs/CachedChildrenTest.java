@@ -0,0 +1,59 @@
+package dfs;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static dfs.UtilDFS.DFS;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class CachedChildrenTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<Integer, Stream<Integer>> children = n -> {
+        calls.incrementAndGet();
+        return n < 100 ? Stream.of(2 * n + 1, 2 * n + 2) : Stream.empty();
+    };
+
+    @Test
+    public void repeatedTraversalHitsCache() {
+        CachedChildren<Integer> cached = new CachedChildren<>(children, 1000);
+        AtomicInteger visited = new AtomicInteger();
+        DFS(asList(0), cached, n -> visited.incrementAndGet());
+        int firstCalls = calls.get();
+        DFS(asList(0), cached, n -> visited.incrementAndGet());
+
+        assertThat(calls.get(), equalTo(firstCalls));
+        assertThat(visited.get(), equalTo(2 * firstCalls));
+        assertThat(cached.stats().missCount(), equalTo((long) firstCalls));
+        assertThat(cached.stats().hitCount(), equalTo((long) firstCalls));
+    }
+
+    @Test
+    public void invalidatedNodeIsReloaded() {
+        CachedChildren<Integer> cached = new CachedChildren<>(children, 1000);
+        assertThat(cached.apply(3).collect(toList()), equalTo(asList(7, 8)));
+        cached.invalidate(3);
+        assertThat(cached.apply(3).collect(toList()), equalTo(asList(7, 8)));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        CachedChildren<Integer> cached = new CachedChildren<>(children, 10);
+        DFS(asList(0), cached, n -> { });
+        assertThat(cached.stats().evictionCount() > 0, equalTo(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failureIsPropagated() {
+        new CachedChildren<Integer>(n -> { throw new IllegalStateException(); }, 10).apply(0);
+    }
+
+}
@@ -0,0 +1,71 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static dfs.UtilDFS.DFS;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DFSMetricsTest {
+
+    private final Map<String, List<String>> graph = new TreeMap<>();
+    private final DFSMetrics metrics = new DFSMetrics();
+
+    private void dfs(String... roots) {
+        DFS(asList(roots), n -> graph.getOrDefault(n, emptyList()).stream(), n -> { }, metrics);
+    }
+
+    @Test
+    public void diamond() {
+        graph.put("root", asList("a", "b"));
+        graph.put("a", asList("c"));
+        graph.put("b", asList("c"));
+        dfs("root");
+
+        assertThat(metrics.nodes(), equalTo(4L));
+        assertThat(metrics.edges(), equalTo(4L));
+        assertThat(metrics.cycleChecks(), equalTo(1L));
+        assertThat(metrics.maxDepth(), equalTo(2));
+        assertThat(metrics.childrenLatency().count(), equalTo(4L));
+        assertThat(metrics.actionLatency().count(), equalTo(4L));
+        assertTrue(metrics.nodesPerSecond() > 0);
+    }
+
+    @Test
+    public void accumulatedOverCycle() {
+        graph.put("a", asList("b"));
+        graph.put("b", asList("a"));
+        try {
+            dfs("a");
+        } catch (AbstractCycleException e) {
+            // expected
+        }
+        dfs("c");
+        assertThat(metrics.nodes(), equalTo(3L));
+        assertThat(metrics.edges(), equalTo(2L));
+        assertTrue(metrics.elapsed(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void histogram() {
+        DFSMetrics.Histogram histogram = new DFSMetrics.Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertThat(histogram.count(), equalTo(100L));
+        assertThat(histogram.max(TimeUnit.MICROSECONDS), equalTo(100L));
+        assertThat(histogram.mean(TimeUnit.NANOSECONDS), equalTo(50500.0));
+        long p50 = histogram.percentile(0.5, TimeUnit.NANOSECONDS);
+        assertTrue(p50 >= 50000 && p50 < 100000);
+    }
+
+}
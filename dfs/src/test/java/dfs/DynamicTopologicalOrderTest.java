@@ -0,0 +1,104 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static dfs.UtilDFSTest.CycleMatcher.isCycle;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DynamicTopologicalOrderTest {
+
+    private final DynamicTopologicalOrder<String> graph = new DynamicTopologicalOrder<>();
+
+    private void assertOrdered() {
+        List<String> order = graph.order();
+        for (String parent : order) {
+            graph.children(parent).forEach(child ->
+                assertTrue(parent + " -> " + child, order.indexOf(parent) < order.indexOf(child)));
+        }
+    }
+
+    @Test
+    public void edgesAgainstInsertionOrder() {
+        graph.addNode("c");
+        graph.addNode("b");
+        graph.addNode("a");
+        graph.addEdge("b", "c");
+        graph.addEdge("a", "b");
+        assertThat(graph.order(), equalTo(asList("a", "b", "c")));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void selfLoop() {
+        try {
+            graph.addEdge("a", "a");
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList("a")));
+            throw e;
+        }
+    }
+
+    @Test
+    public void rejectedSelfLoopAddsNoNode() {
+        graph.addEdge("a", "b");
+        try {
+            graph.addEdge("c", "c");
+            fail();
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList("c")));
+        }
+        assertThat(graph.order(), equalTo(asList("a", "b")));
+        assertThat(graph.contains("c"), equalTo(false));
+    }
+
+    @Test
+    public void cycleIsRejected() {
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+        graph.addEdge("x", "a");
+        try {
+            graph.addEdge("c", "a");
+            fail();
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList("a", "b", "c")));
+        }
+        assertThat(graph.children("c").count(), equalTo(0L));
+        assertOrdered();
+    }
+
+    @Test
+    public void removedEdgeAllowsReverse() {
+        graph.addEdge("a", "b");
+        graph.removeEdge("a", "b");
+        graph.addEdge("b", "a");
+        assertThat(graph.order(), equalTo(asList("b", "a")));
+    }
+
+    @Test
+    public void randomEdges() {
+        Random random = new Random(42);
+        int nodes = 200;
+        for (int i = 0; i < 5000; i++) {
+            String from = String.valueOf(random.nextInt(nodes));
+            String to = String.valueOf(random.nextInt(nodes));
+            try {
+                graph.addEdge(from, to);
+            } catch (AbstractCycleException e) {
+                // rejected, graph stays acyclic
+            }
+            if (random.nextInt(4) == 0) {
+                graph.removeEdge(to, from);
+            }
+        }
+        assertOrdered();
+        UtilDFS.DFS(graph.order(), graph::children, n -> { });
+    }
+
+}
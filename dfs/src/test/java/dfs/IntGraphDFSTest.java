@@ -0,0 +1,75 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dfs.UtilDFS.DFS;
+import static dfs.UtilDFSTest.CycleMatcher.isCycle;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IntGraphDFSTest {
+
+    private final List<Integer> visited = new ArrayList<>();
+
+    @Test
+    public void emptyGraph() {
+        DFS(new int[] { 0 }, new int[0], new int[0], visited::add);
+        assertThat(visited, equalTo(asList()));
+    }
+
+    @Test
+    public void diamond() {
+        // 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3
+        int[] offsets = { 0, 2, 3, 4, 4 };
+        int[] targets = { 1, 2, 3, 3 };
+        DFS(offsets, targets, new int[] { 0 }, visited::add);
+        assertThat(visited, equalTo(asList(0, 1, 3, 2)));
+    }
+
+    @Test
+    public void severalRoots() {
+        // 0 -> 2, 1 -> 2
+        int[] offsets = { 0, 1, 2, 2 };
+        int[] targets = { 2, 2 };
+        DFS(offsets, targets, new int[] { 0, 1, 0 }, visited::add);
+        assertThat(visited, equalTo(asList(0, 2, 1)));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void loopNotFromRoot() {
+        // 0 -> 1 -> 2 -> 3 -> 1
+        int[] offsets = { 0, 1, 2, 3, 4 };
+        int[] targets = { 1, 2, 3, 1 };
+        try {
+            DFS(offsets, targets, new int[] { 0 }, visited::add);
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList(1, 2, 3)));
+            throw e;
+        }
+    }
+
+    @Test(timeout = 2000)
+    public void largeGraph() {
+        int nodes = 1_000_000;
+        int degree = 4;
+        int[] offsets = new int[nodes + 1];
+        int[] targets = new int[nodes * degree];
+        int edges = 0;
+        for (int n = 0; n < nodes; n++) {
+            offsets[n] = edges;
+            for (int k = 1; k <= degree && n + k < nodes; k++) {
+                targets[edges++] = n + k;
+            }
+        }
+        offsets[nodes] = edges;
+        int[] count = new int[1];
+        DFS(offsets, targets, new int[] { 0 }, n -> count[0]++);
+        assertThat(count[0], equalTo(nodes));
+    }
+
+}
@@ -0,0 +1,133 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static dfs.UtilDFS.DFS;
+import static dfs.UtilDFSTest.CycleMatcher.isCycle;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class MappedGraphTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Integer> visited = new ArrayList<>();
+
+    private MappedGraph graph(int size, int[]... children) throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedGraph.Writer writer = MappedGraph.writer(file, size)) {
+            for (int[] c : children) {
+                writer.add(c);
+            }
+        }
+        return MappedGraph.open(file);
+    }
+
+    @Test
+    public void diamond() throws IOException {
+        try (MappedGraph graph = graph(4, new int[] { 1, 2 }, new int[] { 3 }, new int[] { 3 }, new int[0])) {
+            assertThat(graph.size(), equalTo(4));
+            assertThat(graph.edges(), equalTo(4L));
+            assertThat(graph.children(0).collect(toList()), equalTo(asList(1, 2)));
+
+            DFS(graph, new int[] { 0 }, visited::add);
+            assertThat(visited, equalTo(asList(0, 1, 3, 2)));
+
+            visited.clear();
+            DFS(asList(0), graph::children, visited::add);
+            assertThat(visited, equalTo(asList(0, 1, 3, 2)));
+        }
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void loopNotFromRoot() throws IOException {
+        try (MappedGraph graph = graph(4, new int[] { 1 }, new int[] { 2 }, new int[] { 3 }, new int[] { 1 })) {
+            DFS(graph, new int[] { 0 }, visited::add);
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList(1, 2, 3)));
+            throw e;
+        }
+    }
+
+    @Test
+    public void deepChainSpanningBuffers() throws IOException {
+        int size = 100_000;
+        Path file = folder.newFile().toPath();
+        try (MappedGraph.Writer writer = MappedGraph.writer(file, size)) {
+            for (int n = 0; n < size; n++) {
+                writer.add(n + 1 < size ? new int[] { n + 1 } : new int[0]);
+            }
+        }
+        int[] count = new int[1];
+        try (MappedGraph graph = MappedGraph.open(file, 12)) {
+            assertThat(graph.chunks(), equalTo((int) ((Files.size(file) + 4095) >>> 12)));
+            DFS(graph, new int[] { 0 }, n -> count[0]++);
+        }
+        assertThat(count[0], equalTo(size));
+    }
+
+    @Test
+    public void smallChunksMatchArrays() throws IOException {
+        int size = 2000;
+        Random random = new Random(42);
+        int[] offsets = new int[size + 1];
+        List<Integer> targets = new ArrayList<>();
+        Path file = folder.newFile().toPath();
+        try (MappedGraph.Writer writer = MappedGraph.writer(file, size)) {
+            for (int n = 0; n < size; n++) {
+                // edges lead to higher nodes only, so the graph is acyclic
+                int[] children = random.ints(random.nextInt(4), n + 1, size + 1).filter(c -> c < size).toArray();
+                writer.add(children);
+                Arrays.stream(children).forEach(targets::add);
+                offsets[n + 1] = targets.size();
+            }
+        }
+        int[] roots = { 0, size / 2, size - 1 };
+        DFS(offsets, targets.stream().mapToInt(Integer::intValue).toArray(), roots, visited::add);
+
+        List<Integer> mapped = new ArrayList<>();
+        try (MappedGraph graph = MappedGraph.open(file, 3)) {
+            assertThat(graph.chunks() > 1000, equalTo(true));
+            assertThat(graph.edges(), equalTo((long) targets.size()));
+            DFS(graph, roots, mapped::add);
+        }
+        assertThat(mapped, equalTo(visited));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void loopAcrossChunks() throws IOException {
+        int size = 1000;
+        Path file = folder.newFile().toPath();
+        try (MappedGraph.Writer writer = MappedGraph.writer(file, size)) {
+            for (int n = 0; n < size; n++) {
+                writer.add(n + 1 < size ? n + 1 : 10);
+            }
+        }
+        try (MappedGraph graph = MappedGraph.open(file, 6)) {
+            DFS(graph, new int[] { 0 }, visited::add);
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle().size(), equalTo(size - 10));
+            throw e;
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void incompleteFile() throws IOException {
+        graph(2, new int[0]);
+    }
+
+}
@@ -0,0 +1,110 @@
+package dfs;
+
+import dfs.UtilDFS.AbstractCycleException;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static dfs.UtilDFS.parallelDFS;
+import static dfs.UtilDFSTest.CycleMatcher.isCycle;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ParallelDFSTest {
+
+    private static final int ROOTS = 200;
+    private static final int SHARED = 1000;
+
+    /**
+     * Each root points to a handful of shared nodes, shared nodes form a chain.
+     */
+    private static Stream<Integer> children(Integer n) {
+        if (n < ROOTS) {
+            return Stream.of(ROOTS + n % SHARED, ROOTS + (n * 7) % SHARED, ROOTS + (n * 13) % SHARED);
+        }
+        return n + 1 < ROOTS + SHARED ? Stream.of(n + 1) : Stream.empty();
+    }
+
+    private static List<Integer> roots() {
+        return Stream.iterate(0, i -> i + 1).limit(ROOTS).collect(toList());
+    }
+
+    @Test
+    public void everyNodeVisitedOnce() {
+        Map<Integer, AtomicInteger> visits = new ConcurrentHashMap<>();
+        parallelDFS(roots(), ParallelDFSTest::children, n -> visits.computeIfAbsent(n, k -> new AtomicInteger()).incrementAndGet());
+        assertThat(visits.size(), equalTo(ROOTS + SHARED));
+        visits.values().forEach(v -> assertThat(v.get(), equalTo(1)));
+    }
+
+    @Test
+    public void emptyGraph() {
+        parallelDFS(asList(), ParallelDFSTest::children, n -> { throw new AssertionError(); });
+    }
+
+    @Test
+    public void deepChain() {
+        // each node lists a leaf before its continuation, so the continuation is forked
+        int depth = 100_000;
+        AtomicInteger visited = new AtomicInteger();
+        parallelDFS(asList(0), n -> n < 0 || n == 2 * depth ? Stream.empty() : Stream.of(-n - 1, n + 2),
+            n -> visited.incrementAndGet());
+        assertThat(visited.get(), equalTo(2 * depth + 1));
+    }
+
+    @Test
+    public void noActionAfterFailure() {
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicInteger lateCalls = new AtomicInteger();
+        RuntimeException failure = new IllegalStateException();
+        try {
+            parallelDFS(roots(), ParallelDFSTest::children, n -> {
+                if (failed.get()) {
+                    lateCalls.incrementAndGet();
+                }
+                if (n == ROOTS + SHARED / 2) {
+                    failed.set(true);
+                    throw failure;
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e, sameInstance(failure));
+        }
+        int calls = lateCalls.get();
+        assertThat(calls < ROOTS + SHARED, equalTo(true));
+        // nothing keeps running in the pool once the method has thrown
+        ForkJoinPool.commonPool().awaitQuiescence(1, TimeUnit.SECONDS);
+        assertThat(lateCalls.get(), equalTo(calls));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void cycleAcrossRoots() {
+        // 0 -> 1 -> 2 -> 3 -> 1, entered from several roots at once
+        Map<Integer, List<Integer>> graph = new ConcurrentHashMap<>();
+        graph.put(0, asList(1));
+        graph.put(1, asList(2));
+        graph.put(2, asList(3));
+        graph.put(3, asList(1));
+        graph.put(4, asList(2));
+        graph.put(5, asList(3));
+        try {
+            parallelDFS(asList(4, 5, 0), n -> graph.get(n).stream(), n -> { });
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList(1, 2, 3)));
+            throw e;
+        }
+    }
+
+}
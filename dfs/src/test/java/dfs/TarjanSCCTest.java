@@ -0,0 +1,76 @@
+package dfs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static dfs.UtilDFS.findCycles;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class TarjanSCCTest {
+
+    private final Map<String, List<String>> graph = new TreeMap<>();
+    private final List<String> visited = new ArrayList<>();
+
+    private void edge(String from, String... to) {
+        graph.put(from, asList(to));
+        for (String t : to) {
+            graph.putIfAbsent(t, emptyList());
+        }
+    }
+
+    private List<List<String>> findAll(String... roots) {
+        return findCycles(asList(roots), n -> graph.get(n).stream(), visited::add);
+    }
+
+    @Test
+    public void acyclicGraph() {
+        edge("root", "a", "b");
+        edge("a", "c");
+        edge("b", "c");
+        assertThat(findAll("root"), equalTo(emptyList()));
+        assertThat(visited.size(), equalTo(4));
+        assertThat(visited.get(0), equalTo("root"));
+        assertThat(visited.get(3), equalTo("c"));
+    }
+
+    @Test
+    public void allCyclesInOnePass() {
+        edge("root", "a", "x", "s", "ok");
+        edge("a", "b");
+        edge("b", "a", "x");
+        edge("x", "y");
+        edge("y", "z");
+        edge("z", "x", "ok");
+        edge("s", "s");
+
+        List<List<String>> cycles = findAll("root");
+
+        assertThat(cycles.size(), equalTo(3));
+        assertThat(new HashSet<>(asList(
+                new HashSet<>(cycles.get(0)), new HashSet<>(cycles.get(1)), new HashSet<>(cycles.get(2)))),
+            equalTo(new HashSet<>(asList(
+                new HashSet<>(asList("a", "b")), new HashSet<>(asList("x", "y", "z")), new HashSet<>(asList("s"))))));
+        assertThat(visited, equalTo(asList("root", "ok")));
+    }
+
+    @Test
+    public void deepCycle() {
+        int depth = 100_000;
+        for (int i = 0; i < depth; i++) {
+            edge(String.valueOf(i), String.valueOf((i + 1) % depth));
+        }
+        List<List<String>> cycles = findAll("0");
+        assertThat(cycles.size(), equalTo(1));
+        assertThat(cycles.get(0).size(), equalTo(depth));
+        assertThat(visited, equalTo(emptyList()));
+    }
+
+}
@@ -9,14 +9,19 @@ import org.junit.Test;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newLinkedList;
 import static dfs.UtilDFS.DFS;
+import static dfs.UtilDFS.stream;
 import static dfs.UtilDFSTest.CycleMatcher.isCycle;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -203,6 +208,77 @@ public class UtilDFSTest {
         verifyNoMoreInteractions(action);
     }
 
+    @Test
+    public void deepChain() {
+        int depth = 100_000;
+        Node root = new Node("0");
+        Node last = root;
+        for (int i = 1; i < depth; i++) {
+            Node next = new Node(String.valueOf(i));
+            last.children.add(next);
+            last = next;
+        }
+        AtomicInteger visited = new AtomicInteger();
+        DFS(asList(root), Node::children, n -> visited.incrementAndGet());
+        assertThat(visited.get(), equalTo(depth));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void deepLoop() {
+        int depth = 100_000;
+        Node root = new Node("0");
+        Node last = root;
+        for (int i = 1; i < depth; i++) {
+            Node next = new Node(String.valueOf(i));
+            last.children.add(next);
+            last = next;
+        }
+        last.children.add(root);
+        try {
+            DFS(asList(root), Node::children, n -> { });
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle().size(), equalTo(depth));
+            assertThat(e.getCycle().get(0), equalTo((Object) root));
+            throw e;
+        }
+    }
+
+    @Test
+    public void streamInDfsOrder() {
+        Node root = new Node("root")
+            .addChild("child1", n -> n.addChild("child11"))
+            .addChild("child2");
+        assertThat(stream(asList(root), Node::children).map(n -> n.name).collect(toList()),
+            equalTo(asList("root", "child1", "child11", "child2")));
+    }
+
+    @Test
+    public void streamIsLazy() {
+        AtomicInteger expanded = new AtomicInteger();
+        Function<Integer, Stream<Integer>> infinite = n -> {
+            expanded.incrementAndGet();
+            return Stream.of(n + 1, -n - 1);
+        };
+        assertThat(stream(asList(0), infinite).filter(n -> n > 2).findFirst().get(), equalTo(3));
+        assertThat(expanded.get(), equalTo(3));
+        assertThat(stream(asList(0), infinite).limit(5).count(), equalTo(5L));
+    }
+
+    @Test(expected = AbstractCycleException.class)
+    public void streamReachesLoop() {
+        Node root = new Node("root");
+        Node child = new Node("child");
+        root.children.add(child);
+        child.children.add(root);
+        assertThat(stream(asList(root), Node::children).limit(2).count(), equalTo(2L));
+        try {
+            stream(asList(root), Node::children).count();
+        } catch (AbstractCycleException e) {
+            assertThat(e.getCycle(), isCycle(asList(root, child)));
+            throw e;
+        }
+    }
+
 
     static class CycleMatcher<T> extends BaseMatcher<List<T>> {
 
@@ -0,0 +1,60 @@
+package fibonacci;
+
+import java.math.BigInteger;
+import java.util.concurrent.RecursiveAction;
+
+import static fibonacci.FibonacciUtils.doublingPair;
+import static fibonacci.FibonacciUtils.fibonacciPair;
+import static fibonacci.FibonacciUtils.shift;
+
+/**
+ * Computes Fibonacci numbers for a sorted array of distinct indexes.
+ *
+ * The array is split in halves down to small runs processed by separate workers.
+ * Within a run, every number is derived from the pair of the previous index by
+ * {@link FibonacciUtils#shift} when the gap is small compared to the index,
+ * and by a fresh doubling chain otherwise.
+ */
+class FibonacciBatch extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Largest run of indexes processed by one worker.
+     */
+    private static final int RUN = 32;
+
+    /**
+     * A gap is short enough to shift by if it is less than index divided by this.
+     */
+    private static final int SHIFT_RATIO = 8;
+
+    private final int[] indexes;
+    private final BigInteger[] results;
+    private final int from;
+    private final int to;
+
+    FibonacciBatch(int[] indexes, BigInteger[] results, int from, int to) {
+        this.indexes = indexes;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from > RUN) {
+            int mid = (from + to) >>> 1;
+            invokeAll(new FibonacciBatch(indexes, results, from, mid), new FibonacciBatch(indexes, results, mid, to));
+            return;
+        }
+        BigInteger[] pair = fibonacciPair(indexes[from]);
+        results[from] = pair[0];
+        for (int i = from + 1; i < to; i++) {
+            int gap = indexes[i] - indexes[i - 1];
+            pair = gap < indexes[i] / SHIFT_RATIO ? shift(pair, doublingPair(gap)) : fibonacciPair(indexes[i]);
+            results[i] = pair[0];
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package fibonacci;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Thread-safe cache of checkpoint pairs {F(k), F(k + 1)}.
+ *
+ * Lookups never lock: they read a concurrent map and stamp the entry with a logical
+ * access time. When the total size of cached numbers exceeds the memory budget,
+ * least recently used entries are evicted under a lock taken by writers only.
+ * Concurrent misses of the same index may compute the pair more than once.
+ */
+class FibonacciCache {
+
+    private final Map<Integer, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong size = new AtomicLong();
+    private volatile long budget;
+
+    private static class Checkpoint {
+        final BigInteger[] pair;
+        final long bytes;
+        volatile long lastAccess;
+
+        Checkpoint(BigInteger[] pair, long lastAccess) {
+            this.pair = pair;
+            this.bytes = (pair[0].bitLength() + pair[1].bitLength()) / 8 + 64;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * @param budget    approximate number of bytes cached numbers may occupy
+     */
+    FibonacciCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the cached pair for index k, or {@code null}.
+     */
+    BigInteger[] get(int k) {
+        Checkpoint checkpoint = checkpoints.get(k);
+        if (checkpoint == null) {
+            return null;
+        }
+        checkpoint.lastAccess = clock.incrementAndGet();
+        return checkpoint.pair;
+    }
+
+    void put(int k, BigInteger[] pair) {
+        Checkpoint checkpoint = new Checkpoint(pair, clock.incrementAndGet());
+        if (checkpoint.bytes > budget) {
+            return;
+        }
+        Checkpoint previous = checkpoints.put(k, checkpoint);
+        size.addAndGet(previous == null ? checkpoint.bytes : checkpoint.bytes - previous.bytes);
+        if (size.get() > budget) {
+            evict();
+        }
+    }
+
+    void budget(long budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Returns approximate number of bytes occupied by cached numbers.
+     */
+    long size() {
+        return size.get();
+    }
+
+    void clear() {
+        checkpoints.clear();
+        size.set(0);
+    }
+
+    private synchronized void evict() {
+        if (size.get() <= budget) {
+            return;
+        }
+        List<Map.Entry<Integer, Checkpoint>> entries = new ArrayList<>(checkpoints.entrySet());
+        entries.sort(comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<Integer, Checkpoint> e : entries) {
+            if (size.get() <= budget) {
+                break;
+            }
+            if (checkpoints.remove(e.getKey(), e.getValue())) {
+                size.addAndGet(-e.getValue().bytes);
+            }
+        }
+    }
+
+}
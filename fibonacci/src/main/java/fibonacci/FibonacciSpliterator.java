@@ -0,0 +1,85 @@
+package fibonacci;
+
+import java.math.BigInteger;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static fibonacci.FibonacciUtils.fibonacciPair;
+
+/**
+ * Spliterator over a range of the Fibonacci series.
+ *
+ * The pair {F(index), F(index + 1)} is computed by fast doubling only when the first
+ * element is requested, so starting far into the series costs O(log n) multiplications
+ * rather than n additions. Bounded ranges split in halves, and every half jumps
+ * to its own start in the same way.
+ */
+class FibonacciSpliterator implements Spliterator<BigInteger> {
+
+    /**
+     * Smallest range that is split further.
+     */
+    private static final int SPLIT_THRESHOLD = 256;
+
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private int index;
+    private final long fence;
+    private BigInteger a;
+    private BigInteger b;
+
+    /**
+     * @param from     index of the first element
+     * @param fence    index after the last element, or {@link #UNBOUNDED}
+     */
+    FibonacciSpliterator(int from, long fence) {
+        this.index = from;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super BigInteger> action) {
+        if (index >= fence) {
+            return false;
+        }
+        if (a == null) {
+            BigInteger[] pair = fibonacciPair(index);
+            a = pair[0];
+            b = pair[1];
+        }
+        BigInteger current = a;
+        a = b;
+        b = current.add(b);
+        index++;
+        action.accept(current);
+        return true;
+    }
+
+    @Override
+    public Spliterator<BigInteger> trySplit() {
+        if (fence == UNBOUNDED || fence - index < SPLIT_THRESHOLD) {
+            return null;
+        }
+        int mid = (int) ((index + fence) >>> 1);
+        FibonacciSpliterator prefix = new FibonacciSpliterator(index, mid);
+        prefix.a = a;
+        prefix.b = b;
+        index = mid;
+        a = null;
+        b = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence == UNBOUNDED ? Long.MAX_VALUE : fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return fence == UNBOUNDED
+               ? ORDERED | NONNULL | IMMUTABLE
+               : ORDERED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+    }
+
+}
@@ -1,15 +1,128 @@
 package fibonacci;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
+import static java.util.Spliterator.IMMUTABLE;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
 
 public class FibonacciUtils {
 
-    // TODO implement
+    /**
+     * Operand size in bits starting from which multiplications of a doubling step run in parallel.
+     * Below it BigInteger multiplication is too fast for fork-join overhead to pay off.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    /**
+     * Distance between cached checkpoints, a power of two.
+     * Indexes below it are always computed directly.
+     */
+    static final int CHECKPOINT_STRIDE = 4096;
+
+    /**
+     * Largest modulus {@link #pisanoPeriod} can be found for.
+     */
+    static final long PISANO_LIMIT = 1 << 24;
+
+    private static final Map<Long, Long> PISANO_PERIODS = new ConcurrentHashMap<>();
+
+    static final FibonacciCache CACHE = new FibonacciCache(Long.getLong("fibonacci.cache.bytes", 64 << 20));
+
+    /**
+     * Number of Fibonacci numbers that fit into {@code long}, F(92) being the last one.
+     */
+    static final int LONG_COUNT = 92;
+
+    private static final long[] LONG_NUMBERS = new long[LONG_COUNT];
+    private static final BigInteger[] SMALL_NUMBERS = new BigInteger[LONG_COUNT];
+
+    static {
+        long a = 0;
+        long b = 1;
+        for (int i = 0; i < LONG_COUNT; i++) {
+            LONG_NUMBERS[i] = b;
+            SMALL_NUMBERS[i] = BigInteger.valueOf(b);
+            b += a;
+            a = LONG_NUMBERS[i];
+        }
+    }
+
+    /**
+     * Returns infinite stream of the Fibonacci series: 1, 1, 2, 3, 5, 8, 13,...
+     *
+     * The first {@value #LONG_COUNT} numbers come from a shared table and are not allocated,
+     * further ones take a single addition each.
+     */
     public static Stream<BigInteger> newFibonacciStream() {
-        throw new UnsupportedOperationException("Not implemented yet");
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<BigInteger>(Long.MAX_VALUE, ORDERED | NONNULL | IMMUTABLE) {
+            private int index;
+            private BigInteger a = SMALL_NUMBERS[LONG_COUNT - 2];
+            private BigInteger b = SMALL_NUMBERS[LONG_COUNT - 1];
+
+            @Override
+            public boolean tryAdvance(Consumer<? super BigInteger> action) {
+                if (index < LONG_COUNT) {
+                    action.accept(SMALL_NUMBERS[index++]);
+                } else {
+                    BigInteger next = a.add(b);
+                    a = b;
+                    b = next;
+                    action.accept(next);
+                }
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Returns infinite stream of the Fibonacci series starting from F(from).
+     *
+     * Unlike {@code newFibonacciStream().skip(from - 1)}, the first element is found
+     * by fast doubling, so the preceding ones are never generated.
+     *
+     * @param from positive index of the first number
+     */
+    public static Stream<BigInteger> newFibonacciStream(int from) {
+        checkIndex(from);
+        return StreamSupport.stream(new FibonacciSpliterator(from, FibonacciSpliterator.UNBOUNDED), false);
+    }
+
+    /**
+     * Returns stream of Fibonacci numbers F(from) to F(to - 1).
+     *
+     * Each part of the range starts with an O(log n) jump, so a window far into the series
+     * does not generate the preceding numbers, and the stream splits evenly when made parallel.
+     *
+     * @param from positive index of the first number
+     * @param to   index after the last number
+     */
+    public static Stream<BigInteger> newFibonacciStream(int from, int to) {
+        checkIndex(from);
+        if (to < from) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        return StreamSupport.stream(new FibonacciSpliterator(from, to), false);
+    }
+
+    /**
+     * Returns the {@value #LONG_COUNT} Fibonacci numbers fitting into {@code long}: F(1) to F(92).
+     * Nothing is computed or boxed.
+     */
+    public static LongStream newFibonacciLongStream() {
+        return Arrays.stream(LONG_NUMBERS);
     }
 
     /**
@@ -21,25 +134,276 @@ public class FibonacciUtils {
      *
      * Indexes start from 1.
      *
+     * Computed by fast doubling in O(log n) steps.
+     *
      * @param n positive index of number to be found
      * @return the n-th number of the Fibonacci series
      */
     public static BigInteger fibonacciNum(int n) {
-        return ZERO;
+        return fibonacciPair(checkIndex(n))[0];
+    }
+
+    /**
+     * Returns Fibonacci numbers for all given indexes, in the same order.
+     *
+     * Indexes are sorted and deduplicated, and nearby ones are derived from each other
+     * instead of being computed independently. Runs of indexes are processed in parallel
+     * in the common fork-join pool.
+     *
+     * @param indexes positive indexes of numbers to be found
+     * @return array with the {@code indexes[i]}-th number of the series at position {@code i}
+     */
+    public static BigInteger[] fibonacciNums(int... indexes) {
+        int[] distinct = Arrays.stream(indexes).map(FibonacciUtils::checkIndex).sorted().distinct().toArray();
+        BigInteger[] found = new BigInteger[distinct.length];
+        if (distinct.length > 0) {
+            ForkJoinPool.commonPool().invoke(new FibonacciBatch(distinct, found, 0, distinct.length));
+        }
+        BigInteger[] results = new BigInteger[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            results[i] = found[Arrays.binarySearch(distinct, indexes[i])];
+        }
+        return results;
     }
 
     /**
      * Returns sum of first n Fibonacci numbers.
+     *
+     * Computed as F(n + 2) - 1 in O(log n) steps.
      */
     public static BigInteger fibonacciSum(int n) {
-        return ZERO;
+        BigInteger[] f = fibonacciPair(checkCount(n));
+        return f[0].add(f[1]).subtract(ONE);
     }
 
     /**
      * Returns sum of squares for first n Fibonacci numbers.
+     *
+     * Computed as F(n) * F(n + 1) in O(log n) steps.
      */
     public static BigInteger fibonacciSqrSum(int n) {
-        return ZERO;
+        BigInteger[] f = fibonacciPair(checkCount(n));
+        return f[0].multiply(f[1]);
+    }
+
+    /**
+     * Returns the n-th number of the Fibonacci series modulo m.
+     *
+     * Computed by fast doubling on {@code long} values without allocation. If the Pisano period
+     * of m has been obtained with {@link #pisanoPeriod}, n is reduced by it first.
+     *
+     * @param n positive index of number to be found
+     * @param m positive modulus
+     */
+    public static long fibonacciNumMod(long n, long m) {
+        return fibonacciMod(checkIndex(n), checkModulus(m));
+    }
+
+    /**
+     * Returns sum of first n Fibonacci numbers modulo m, computed as F(n + 2) - 1.
+     */
+    public static long fibonacciSumMod(long n, long m) {
+        return subMod(fibonacciMod(checkCount(n) + 2, checkModulus(m)), 1 % m, m);
+    }
+
+    /**
+     * Returns sum of squares for first n Fibonacci numbers modulo m, computed as F(n) * F(n + 1).
+     */
+    public static long fibonacciSqrSumMod(long n, long m) {
+        checkCount(n);
+        checkModulus(m);
+        return mulMod(fibonacciMod(n, m), fibonacciMod(n + 1, m), m);
+    }
+
+    /**
+     * Returns the Pisano period of m, the period of the Fibonacci series modulo m,
+     * and remembers it to speed up further modular computations with the same modulus.
+     *
+     * The period is at most 6m and is found by iteration, so m is limited
+     * to {@value #PISANO_LIMIT}.
+     */
+    public static long pisanoPeriod(long m) {
+        if (checkModulus(m) > PISANO_LIMIT) {
+            throw new IllegalArgumentException("Modulus is too large to find its period: " + m);
+        }
+        return PISANO_PERIODS.computeIfAbsent(m, k -> {
+            long a = 0;
+            long b = 1 % k;
+            for (long p = 1; ; p++) {
+                long next = (a + b) % k;
+                a = b;
+                b = next;
+                if (a == 0 && b == 1 % k) {
+                    return p;
+                }
+            }
+        });
+    }
+
+    /**
+     * Sets approximate number of bytes the shared checkpoint cache may occupy,
+     * {@code 0} disables caching. Defaults to the {@code fibonacci.cache.bytes}
+     * system property or 64 MiB.
+     */
+    public static void setCacheBudget(long bytes) {
+        CACHE.budget(bytes);
+    }
+
+    private static int checkIndex(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Index must be positive: " + n);
+        }
+        return n;
+    }
+
+    private static long checkIndex(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Index must be positive: " + n);
+        }
+        return n;
+    }
+
+    private static long checkCount(long n) {
+        if (n < 0 || n > Long.MAX_VALUE - 2) {
+            throw new IllegalArgumentException("Count is out of range: " + n);
+        }
+        return n;
+    }
+
+    private static long checkModulus(long m) {
+        if (m < 1) {
+            throw new IllegalArgumentException("Modulus must be positive: " + m);
+        }
+        return m;
+    }
+
+    private static int checkCount(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + n);
+        }
+        return n;
+    }
+
+    /**
+     * Returns {F(n), F(n + 1)} for non-negative n, F(0) being 0.
+     *
+     * Large indexes are rounded down to a multiple of {@link #CHECKPOINT_STRIDE},
+     * the pair for it is taken from the shared cache or computed and cached,
+     * and then shifted by the remainder. Nearby indexes thus share the expensive part.
+     */
+    static BigInteger[] fibonacciPair(int n) {
+        if (n < CHECKPOINT_STRIDE) {
+            return doublingPair(n);
+        }
+        int k = n & -CHECKPOINT_STRIDE;
+        BigInteger[] checkpoint = CACHE.get(k);
+        if (checkpoint == null) {
+            checkpoint = doublingPair(k);
+            CACHE.put(k, checkpoint);
+        }
+        return n == k ? checkpoint : shift(checkpoint, doublingPair(n - k));
+    }
+
+    /**
+     * Maps {F(k), F(k + 1)} and {F(r), F(r + 1)} to {F(k + r), F(k + r + 1)}
+     * using F(k + r) = F(k) F(r + 1) + F(k - 1) F(r).
+     *
+     * When r is small, it costs a few multiplications by short numbers.
+     */
+    static BigInteger[] shift(BigInteger[] k, BigInteger[] r) {
+        BigInteger previous = k[1].subtract(k[0]);
+        return new BigInteger[] {
+            k[0].multiply(r[1]).add(previous.multiply(r[0])),
+            k[1].multiply(r[1]).add(k[0].multiply(r[0]))
+        };
+    }
+
+    /**
+     * Returns {F(n), F(n + 1)} for non-negative n.
+     *
+     * Walks the bits of n from the highest one, doubling the index with
+     * F(2k) = F(k) * (2F(k + 1) - F(k)) and F(2k + 1) = F(k)^2 + F(k + 1)^2,
+     * and stepping by one where the bit is set.
+     */
+    static BigInteger[] doublingPair(int n) {
+        BigInteger a = ZERO;
+        BigInteger b = ONE;
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger[] doubled = doubling(a, b);
+            a = doubled[0];
+            b = doubled[1];
+            if ((n & bit) != 0) {
+                BigInteger next = a.add(b);
+                a = b;
+                b = next;
+            }
+        }
+        return new BigInteger[] { a, b };
+    }
+
+    /**
+     * Maps {F(k), F(k + 1)} to {F(2k), F(2k + 1)}.
+     */
+    static BigInteger[] doubling(BigInteger a, BigInteger b) {
+        if (b.bitLength() < PARALLEL_THRESHOLD) {
+            return new BigInteger[] { a.multiply(b.shiftLeft(1).subtract(a)), a.multiply(a).add(b.multiply(b)) };
+        }
+        ForkJoinTask<BigInteger> even = ForkJoinTask.adapt(() -> a.multiply(b.shiftLeft(1).subtract(a))).fork();
+        ForkJoinTask<BigInteger> aa = ForkJoinTask.adapt(() -> a.multiply(a)).fork();
+        BigInteger bb = b.multiply(b);
+        return new BigInteger[] { even.join(), aa.join().add(bb) };
+    }
+
+    /**
+     * Returns F(n) mod m for non-negative n by fast doubling, as {@link #doublingPair} does.
+     */
+    static long fibonacciMod(long n, long m) {
+        Long period = PISANO_PERIODS.get(m);
+        if (period != null) {
+            n %= period;
+        }
+        long a = 0;
+        long b = 1 % m;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long even = mulMod(a, subMod(addMod(b, b, m), a, m), m);
+            long odd = addMod(mulMod(a, a, m), mulMod(b, b, m), m);
+            if ((n >>> bit & 1) == 0) {
+                a = even;
+                b = odd;
+            } else {
+                a = odd;
+                b = addMod(even, odd, m);
+            }
+        }
+        return a;
+    }
+
+    static long addMod(long a, long b, long m) {
+        return a >= m - b ? a - (m - b) : a + b;
+    }
+
+    static long subMod(long a, long b, long m) {
+        return a >= b ? a - b : a + (m - b);
+    }
+
+    /**
+     * Returns a * b mod m for a and b in [0, m) without overflow.
+     * Products of operands below 2^31 fit into {@code long}, larger ones are
+     * accumulated by doubling.
+     */
+    static long mulMod(long a, long b, long m) {
+        if (m <= 1L << 31) {
+            return a * b % m;
+        }
+        long result = 0;
+        while (b > 0) {
+            if ((b & 1) != 0) {
+                result = addMod(result, a, m);
+            }
+            a = addMod(a, a, m);
+            b >>>= 1;
+        }
+        return result;
     }
 
 }
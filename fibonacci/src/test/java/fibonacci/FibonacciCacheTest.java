@@ -0,0 +1,85 @@
+package fibonacci;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static fibonacci.FibonacciUtils.doublingPair;
+import static fibonacci.FibonacciUtils.fibonacciNum;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class FibonacciCacheTest {
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        BigInteger[] a = doublingPair(10000);
+        BigInteger[] b = doublingPair(10001);
+        BigInteger[] c = doublingPair(10002);
+        FibonacciCache cache = new FibonacciCache(5 * 900);
+        cache.put(1, a);
+        cache.put(2, b);
+        assertThat(cache.get(1), sameInstance(a));
+        cache.put(3, c);
+
+        assertThat(cache.get(1), sameInstance(a));
+        assertThat(cache.get(2), nullValue());
+        assertThat(cache.get(3), sameInstance(c));
+        assertTrue(cache.size() <= 5 * 900);
+    }
+
+    @Test
+    public void tooLargeIsNotCached() {
+        FibonacciCache cache = new FibonacciCache(100);
+        cache.put(1, doublingPair(10000));
+        assertThat(cache.get(1), nullValue());
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+    @Test
+    public void shrinkingBudgetEvicts() {
+        FibonacciCache cache = new FibonacciCache(1 << 20);
+        cache.put(1, doublingPair(10000));
+        cache.budget(0);
+        assertThat(cache.get(1), nullValue());
+    }
+
+    @Test
+    public void resumeFromCheckpoint() {
+        int k = 1 << 18;
+        for (int n = k; n < k + 3 * FibonacciUtils.CHECKPOINT_STRIDE; n += 1001) {
+            assertThat(fibonacciNum(n), equalTo(doublingPair(n)[0]));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void concurrentNearbyIndexes() throws Exception {
+        int k = 3 << 18;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BigInteger>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int n = k + i * 13;
+                results.add(executor.submit(() -> fibonacciNum(n)));
+            }
+            BigInteger[] f = doublingPair(k);
+            for (int i = 0; i < 64; i++) {
+                assertThat(results.get(i).get(), equalTo(f[0]));
+                for (int j = 0; j < 13; j++) {
+                    f = new BigInteger[] { f[1], f[0].add(f[1]) };
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
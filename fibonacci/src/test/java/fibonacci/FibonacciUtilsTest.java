@@ -3,11 +3,18 @@ package fibonacci;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import static fibonacci.FibonacciUtils.fibonacciNum;
+import static fibonacci.FibonacciUtils.fibonacciNumMod;
+import static fibonacci.FibonacciUtils.fibonacciNums;
 import static fibonacci.FibonacciUtils.fibonacciSqrSum;
+import static fibonacci.FibonacciUtils.fibonacciSqrSumMod;
 import static fibonacci.FibonacciUtils.fibonacciSum;
+import static fibonacci.FibonacciUtils.fibonacciSumMod;
+import static fibonacci.FibonacciUtils.newFibonacciLongStream;
 import static fibonacci.FibonacciUtils.newFibonacciStream;
+import static fibonacci.FibonacciUtils.pisanoPeriod;
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
 import static java.util.Arrays.asList;
@@ -43,6 +50,43 @@ public class FibonacciUtilsTest {
         assertThat(newFibonacciStream().limit(7).collect(toList()), equalTo(asList(f)));
     }
 
+    @Test
+    public void fibonacciStreamBeyondLong() {
+        assertThat(newFibonacciStream().skip(91).limit(3).collect(toList()),
+                   equalTo(asList(fibonacciNum(92), fibonacciNum(93), fibonacciNum(94))));
+    }
+
+    @Test
+    public void fibonacciStreamFrom() {
+        assertThat(newFibonacciStream(1).limit(7).collect(toList()), equalTo(asList(f)));
+        assertThat(newFibonacciStream(4, 7).collect(toList()), equalTo(asList(f[3], f[4], f[5])));
+        assertThat(newFibonacciStream(5, 5).count(), equalTo(0L));
+    }
+
+    @Test(timeout = 2000)
+    public void fibonacciStreamWindow() {
+        List<BigInteger> window = newFibonacciStream(1_000_001).limit(1000).collect(toList());
+        assertThat(window.get(0), equalTo(fibonacciNum(1_000_001)));
+        assertThat(window.get(999), equalTo(fibonacciNum(1_001_000)));
+    }
+
+    @Test
+    public void fibonacciStreamParallel() {
+        int from = 5000;
+        int to = 9000;
+        List<BigInteger> sequential = newFibonacciStream(from).limit(to - from).collect(toList());
+        assertThat(newFibonacciStream(from, to).parallel().collect(toList()), equalTo(sequential));
+        assertThat(newFibonacciStream(from, to).parallel().reduce(ZERO, BigInteger::add),
+                   equalTo(fibonacciSum(to - 1).subtract(fibonacciSum(from - 1))));
+    }
+
+    @Test
+    public void fibonacciLongStreamTest() {
+        assertThat(newFibonacciLongStream().limit(7).mapToObj(BigInteger::valueOf).collect(toList()), equalTo(asList(f)));
+        assertThat(newFibonacciLongStream().count(), equalTo(92L));
+        assertThat(newFibonacciLongStream().skip(91).findFirst().getAsLong(), equalTo(fibonacciNum(92).longValueExact()));
+    }
+
     @Test
     public void fibonacciNumTest() {
         assertThat(fibonacciNum(1), equalTo(f[0]));
@@ -54,6 +98,29 @@ public class FibonacciUtilsTest {
         assertThat(fibonacciNum(7), equalTo(f[6]));
     }
 
+    @Test
+    public void fibonacciNumsTest() {
+        assertThat(asList(fibonacciNums(7, 1, 3, 3, 2)), equalTo(asList(f[6], f[0], f[2], f[2], f[1])));
+        assertThat(fibonacciNums().length, equalTo(0));
+    }
+
+    @Test(timeout = 5000)
+    public void fibonacciNumsMatchSingle() {
+        int[] indexes = new int[1000];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = 1 + (i * 7919) % 200_000;
+        }
+        BigInteger[] results = fibonacciNums(indexes);
+        for (int i = 0; i < indexes.length; i += 37) {
+            assertThat(results[i], equalTo(fibonacciNum(indexes[i])));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fibonacciNumsNonPositive() {
+        fibonacciNums(3, 0);
+    }
+
     @Test
     public void fibonacciSumTest() {
         BigInteger sum = ZERO;
@@ -99,6 +166,72 @@ public class FibonacciUtilsTest {
         assertThat(fibonacciNum(100), equalTo(SUM_100));
     }
 
+    @Test(timeout = 2000)
+    public void fibonacciNumMatchesIteration() {
+        int n = 50000;
+        BigInteger a = ZERO;
+        BigInteger b = ONE;
+        for (int i = 0; i < n; i++) {
+            BigInteger next = a.add(b);
+            a = b;
+            b = next;
+        }
+        assertThat(fibonacciNum(n), equalTo(a));
+        assertThat(fibonacciNum(n + 1), equalTo(b));
+    }
+
+    @Test(timeout = 2000)
+    public void fibonacciNumLogarithmic() {
+        // F(n) has about 0.694 * n bits
+        assertThat(fibonacciNum(1_000_000).bitLength(), equalTo(694241));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fibonacciNumNonPositive() {
+        fibonacciNum(0);
+    }
+
+    @Test(timeout = 2000)
+    public void fibonacciSumsLogarithmic() {
+        int n = 300_000;
+        BigInteger fn = fibonacciNum(n);
+        BigInteger fn1 = fibonacciNum(n + 1);
+        assertThat(fibonacciSum(n), equalTo(fn.add(fn1).subtract(ONE)));
+        assertThat(fibonacciSqrSum(n), equalTo(fn.multiply(fn1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fibonacciSumNegative() {
+        fibonacciSum(-1);
+    }
+
+    @Test
+    public void fibonacciModMatchesBigInteger() {
+        long[] moduli = { 1, 2, 10, 1_000_000_007L, (1L << 31) + 11, 4_611_686_018_427_387_847L, Long.MAX_VALUE };
+        for (long m : moduli) {
+            BigInteger bm = BigInteger.valueOf(m);
+            for (int n = 1; n < 3000; n += 97) {
+                assertThat(fibonacciNumMod(n, m), equalTo(fibonacciNum(n).mod(bm).longValue()));
+                assertThat(fibonacciSumMod(n, m), equalTo(fibonacciSum(n).mod(bm).longValue()));
+                assertThat(fibonacciSqrSumMod(n, m), equalTo(fibonacciSqrSum(n).mod(bm).longValue()));
+            }
+        }
+        assertThat(fibonacciSumMod(0, 7), equalTo(0L));
+        assertThat(fibonacciSqrSumMod(0, 7), equalTo(0L));
+    }
+
+    @Test
+    public void fibonacciModHugeIndex() {
+        long n = 1_000_000_000_000_000_000L;
+        // Pisano period of 1000 is 1500
+        BigInteger expected = fibonacciNum((int) (n % 1500)).mod(BigInteger.valueOf(1000));
+        assertThat(fibonacciNumMod(n, 1000), equalTo(expected.longValue()));
+        assertThat(pisanoPeriod(1000), equalTo(1500L));
+        assertThat(fibonacciNumMod(n, 1000), equalTo(expected.longValue()));
+        assertThat(pisanoPeriod(1), equalTo(1L));
+        assertThat(pisanoPeriod(10), equalTo(60L));
+    }
+
     @Test(timeout = 2000)
     public void fibonnacciSumNoSquare() {
         assertThat(fibonacciSum(10000), equalTo(SUM_10000));
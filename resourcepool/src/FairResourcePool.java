@@ -0,0 +1,164 @@
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of {@link ResourcePool} serving blocked callers strictly in arrival order.
+ *
+ * Every blocked caller parks on its own waiter node kept in a FIFO queue. A released
+ * resource is assigned directly to the node at the head of the queue and only that
+ * thread is unparked, so late arrivals cannot overtake it. While anybody waits,
+ * there are no spare resources, and {@link #tryAcquire} returns {@code null}.
+ * A waiter that times out or is interrupted removes its node; a resource assigned
+ * to it at the same moment is passed on to the next waiter.
+ *
+ * The lock guards queue updates only and is never held while parking.
+ * Resources are identified by reference.
+ */
+public class FairResourcePool<R> implements ResourcePool<R> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<R> spare = new ArrayDeque<>();
+    private final Set<R> acquired = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<R> all = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Waiter<R>> waiters = new LinkedHashSet<>();
+
+    private static class Waiter<R> {
+        final Thread thread = Thread.currentThread();
+        volatile R resource;
+    }
+
+    public FairResourcePool(Collection<? extends R> resources) {
+        for (R resource : resources) {
+            if (all.add(resource)) {
+                spare.push(resource);
+            }
+        }
+    }
+
+    @Override
+    public R acquire() throws InterruptedException {
+        return acquire(Long.MAX_VALUE);
+    }
+
+    @Override
+    public R acquire(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return acquire(timeUnit.toNanos(timeout));
+    }
+
+    @Override
+    public R tryAcquire() {
+        lock.lock();
+        try {
+            return waiters.isEmpty() ? take() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(R resource) {
+        Waiter<R> next = null;
+        lock.lock();
+        try {
+            if (!all.contains(resource)) {
+                throw new IllegalArgumentException("Resource does not belong to the pool: " + resource);
+            }
+            if (!acquired.contains(resource)) {
+                throw new IllegalStateException("Resource is not acquired: " + resource);
+            }
+            Iterator<Waiter<R>> it = waiters.iterator();
+            if (it.hasNext()) {
+                next = it.next();
+                it.remove();
+                next.resource = resource;
+            } else {
+                acquired.remove(resource);
+                spare.push(resource);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            LockSupport.unpark(next.thread);
+        }
+    }
+
+    /**
+     * @param nanos    time to wait, {@link Long#MAX_VALUE} to wait indefinitely
+     */
+    private R acquire(long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        Waiter<R> waiter = new Waiter<>();
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && !spare.isEmpty()) {
+                return take();
+            }
+            if (nanos <= 0) {
+                return null;
+            }
+            waiters.add(waiter);
+        } finally {
+            lock.unlock();
+        }
+
+        long deadline = System.nanoTime() + nanos;
+        for (;;) {
+            R resource = waiter.resource;
+            if (resource != null) {
+                return resource;
+            }
+            if (Thread.interrupted()) {
+                resource = cancel(waiter);
+                if (resource != null) {
+                    release(resource);
+                }
+                throw new InterruptedException();
+            }
+            if (nanos == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return cancel(waiter);
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+    }
+
+    /**
+     * Removes the waiter from the queue, unless a resource has already been assigned to it.
+     *
+     * @return the assigned resource or {@code null}
+     */
+    private R cancel(Waiter<R> waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+            return waiter.resource;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private R take() {
+        R resource = spare.poll();
+        if (resource != null) {
+            acquired.add(resource);
+        }
+        return resource;
+    }
+
+}
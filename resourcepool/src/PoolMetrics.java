@@ -0,0 +1,224 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a {@link ResourcePoolImpl} passed to its constructor.
+ *
+ * Usage counts are read from the pool on demand, so only timings are recorded while the pool runs.
+ * If a leak threshold is given, the stack trace of every acquisition is captured as well, which is
+ * much more expensive and meant for diagnosing callers that never release their resources.
+ * Thread-safe.
+ */
+public class PoolMetrics {
+
+    private final long leakThresholdNanos;
+    private volatile ResourcePoolImpl<?> pool;
+
+    private final Histogram acquireWait = new Histogram();
+    private final Histogram holdTime = new Histogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Creates metrics without leak detection.
+     */
+    public PoolMetrics() {
+        this.leakThresholdNanos = 0;
+    }
+
+    /**
+     * Creates metrics which report resources held longer than the given threshold as leaks.
+     */
+    public PoolMetrics(long leakThreshold, TimeUnit unit) {
+        if (leakThreshold <= 0) {
+            throw new IllegalArgumentException("Leak threshold must be positive: " + leakThreshold);
+        }
+        this.leakThresholdNanos = unit.toNanos(leakThreshold);
+    }
+
+    synchronized void attach(ResourcePoolImpl<?> pool) {
+        if (this.pool != null) {
+            throw new IllegalStateException("Metrics are already attached to a pool");
+        }
+        this.pool = pool;
+    }
+
+    boolean detectsLeaks() {
+        return leakThresholdNanos > 0;
+    }
+
+    void acquired(long waitNanos) {
+        acquireWait.record(waitNanos);
+    }
+
+    void released(long holdNanos) {
+        holdTime.record(holdNanos);
+    }
+
+    void timedOut() {
+        timeouts.increment();
+    }
+
+    /**
+     * Returns number of resources currently acquired.
+     */
+    public int inUse() {
+        ResourcePoolImpl<?> pool = this.pool;
+        return pool == null ? 0 : pool.inUse();
+    }
+
+    /**
+     * Returns number of resources currently spare.
+     */
+    public int idle() {
+        ResourcePoolImpl<?> pool = this.pool;
+        return pool == null ? 0 : pool.size() - pool.inUse();
+    }
+
+    /**
+     * Returns number of threads currently blocked in {@code acquire}.
+     */
+    public int waiters() {
+        ResourcePoolImpl<?> pool = this.pool;
+        return pool == null ? 0 : pool.waiters();
+    }
+
+    /**
+     * Returns time spent in {@code acquire} and {@code tryAcquire} by calls which got a resource.
+     */
+    public Histogram acquireWait() {
+        return acquireWait;
+    }
+
+    /**
+     * Returns time between acquisition and release of resources.
+     */
+    public Histogram holdTime() {
+        return holdTime;
+    }
+
+    /**
+     * Returns number of timed {@code acquire} calls which returned {@code null}.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Returns resources currently held longer than the leak threshold,
+     * or an empty list if leak detection is off.
+     */
+    public List<Leak> leaks() {
+        List<Leak> leaks = new ArrayList<>();
+        ResourcePoolImpl<?> pool = this.pool;
+        if (pool != null && detectsLeaks()) {
+            pool.collectLeaks(leakThresholdNanos, leaks);
+        }
+        return leaks;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d in use, %d idle, %d waiters, %d timeouts; wait %s; hold %s",
+            inUse(), idle(), waiters(), timeouts(), acquireWait, holdTime);
+    }
+
+    /**
+     * A resource held longer than the leak threshold.
+     */
+    public static class Leak {
+
+        private final Object resource;
+        private final long heldNanos;
+        private final Throwable acquiredAt;
+
+        Leak(Object resource, long heldNanos, Throwable acquiredAt) {
+            this.resource = resource;
+            this.heldNanos = heldNanos;
+            this.acquiredAt = acquiredAt;
+        }
+
+        public Object resource() {
+            return resource;
+        }
+
+        public long held(TimeUnit unit) {
+            return unit.convert(heldNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns an exception whose stack trace is that of the acquiring call.
+         */
+        public Throwable acquiredAt() {
+            return acquiredAt;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s held for %d ms", resource, held(TimeUnit.MILLISECONDS));
+        }
+
+    }
+
+    /**
+     * Latency histogram with power-of-two buckets in nanoseconds, safe to record from several threads.
+     */
+    public static class Histogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            nanos = Math.max(nanos, 0);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos));
+            count.increment();
+            total.add(nanos);
+            if (nanos > max.get()) {
+                max.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long max(TimeUnit unit) {
+            return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+        }
+
+        public double mean(TimeUnit unit) {
+            long count = count();
+            return count == 0 ? 0 : (double) total.sum() / count / unit.toNanos(1);
+        }
+
+        /**
+         * Returns an upper estimate of the time below which the given fraction of calls fall.
+         *
+         * @param fraction    fraction of calls from {@code 0} to {@code 1}
+         */
+        public long percentile(double fraction, TimeUnit unit) {
+            long threshold = (long) Math.ceil(fraction * count());
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold && seen > 0) {
+                    return unit.convert(Math.min(max.get(), (1L << i) - 1), TimeUnit.NANOSECONDS);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d calls, mean %.0f ns, p99 %d ns, max %d ns",
+                count(), mean(TimeUnit.NANOSECONDS), percentile(0.99, TimeUnit.NANOSECONDS), max.get());
+        }
+
+    }
+
+}
@@ -1,27 +1,287 @@
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Lock-free implementation of {@link ResourcePool}.
+ *
+ * Every resource has an entry with an atomic in-use flag, and acquiring means winning
+ * a compare-and-set on it. A thread first tries the resources it released recently,
+ * then scans all entries starting from an offset of its own, so threads do not compete
+ * for the same entries. Threads that find nothing enqueue themselves as waiters, scan
+ * the entries once more and park. A releasing thread clears the flag and unparks at most
+ * one waiter, which scans again, so release never blocks or spins. A woken waiter that
+ * leaves without needing the wake-up passes it on to the next one.
+ *
+ * Resources are identified by reference.
+ *
+ * The pool may be given {@link PoolMetrics} to record wait and hold times; without them
+ * the only cost is a null check per call.
+ */
 public class ResourcePoolImpl<R> implements ResourcePool<R> {
 
+    private static final int RECENT_LIMIT = 8;
+
+    private final List<Entry<R>> entries = new ArrayList<>();
+    private final Map<R, Entry<R>> entriesByResource = new IdentityHashMap<>();
+    private final ThreadLocal<Affinity<R>> affinity = ThreadLocal.withInitial(Affinity::new);
+    private final ConcurrentLinkedQueue<Waiter> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final PoolMetrics metrics;
+
+    private static class Entry<R> {
+        final R resource;
+        final AtomicBoolean inUse = new AtomicBoolean();
+        volatile long acquiredNanos;
+        volatile Throwable acquiredAt;
+
+        Entry(R resource) {
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * Per-thread state: entries released recently, most recent last, and the offset to start scanning from.
+     */
+    private static class Affinity<R> {
+        final List<Entry<R>> recent = new ArrayList<>();
+        final int start = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+    }
+
+    /**
+     * A parked thread. Its flag is set once, either by a releasing thread to wake it up
+     * or by the thread itself when it stops waiting, so every wake-up reaches a live waiter.
+     */
+    private static class Waiter {
+        final Thread thread = Thread.currentThread();
+        final AtomicBoolean done = new AtomicBoolean();
+    }
+
     public ResourcePoolImpl(Collection<? extends R> resources) {
+        this(resources, null);
+    }
+
+    /**
+     * @param metrics    metrics to record, or {@code null}; one instance may serve a single pool only
+     */
+    public ResourcePoolImpl(Collection<? extends R> resources, PoolMetrics metrics) {
+        this.metrics = metrics;
+        for (R resource : resources) {
+            Entry<R> entry = new Entry<>(resource);
+            if (entriesByResource.putIfAbsent(resource, entry) == null) {
+                entries.add(entry);
+            }
+        }
+        if (metrics != null) {
+            metrics.attach(this);
+        }
     }
 
     @Override
     public R acquire() throws InterruptedException {
-        return null;
+        return acquire(Long.MAX_VALUE);
     }
 
     @Override
     public R acquire(long timeout, TimeUnit timeUnit) throws InterruptedException {
-        return null;
+        return acquire(timeUnit.toNanos(timeout));
     }
 
     @Override
     public R tryAcquire() {
+        if (metrics == null) {
+            Entry<R> entry = poll();
+            return entry == null ? null : entry.resource;
+        }
+        return acquired(poll(), System.nanoTime());
+    }
+
+    private Entry<R> poll() {
+        Affinity<R> local = affinity.get();
+        List<Entry<R>> mine = local.recent;
+        for (int i = mine.size() - 1; i >= 0; i--) {
+            Entry<R> entry = mine.remove(i);
+            if (entry.inUse.compareAndSet(false, true)) {
+                return entry;
+            }
+        }
+        int size = entries.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = local.start % size;
+        for (int i = 0; i < size; i++) {
+            Entry<R> entry = entries.get((start + i) % size);
+            if (entry.inUse.compareAndSet(false, true)) {
+                return entry;
+            }
+        }
         return null;
     }
 
     @Override
     public void release(R resource) {
+        Entry<R> entry = entriesByResource.get(resource);
+        if (entry == null) {
+            throw new IllegalArgumentException("Resource does not belong to the pool: " + resource);
+        }
+        if (metrics != null) {
+            long acquiredNanos = entry.acquiredNanos;
+            entry.acquiredAt = null;
+            if (!entry.inUse.compareAndSet(true, false)) {
+                throw new IllegalStateException("Resource is not acquired: " + resource);
+            }
+            metrics.released(System.nanoTime() - acquiredNanos);
+        } else if (!entry.inUse.compareAndSet(true, false)) {
+            throw new IllegalStateException("Resource is not acquired: " + resource);
+        }
+        List<Entry<R>> mine = affinity.get().recent;
+        if (mine.size() == RECENT_LIMIT) {
+            mine.remove(0);
+        }
+        mine.add(entry);
+        if (waiters.get() > 0) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Unparks the first waiter which has not stopped waiting yet.
+     */
+    private void wakeUp() {
+        for (Waiter waiter; (waiter = waiting.poll()) != null; ) {
+            if (waiter.done.compareAndSet(false, true)) {
+                LockSupport.unpark(waiter.thread);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops waiting, passing the wake-up on if one has been received.
+     */
+    private void leave(Waiter waiter) {
+        if (!cancel(waiter)) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Marks a waiter that has not been woken up as cancelled. It stays in the queue until
+     * it reaches the head, where it is skipped by {@link #wakeUp} or pruned by a new waiter.
+     *
+     * @return whether the waiter was cancelled, {@code false} if it has been woken up
+     */
+    private boolean cancel(Waiter waiter) {
+        return waiter.done.compareAndSet(false, true);
+    }
+
+    private void enqueue(Waiter waiter) {
+        for (Waiter head; (head = waiting.peek()) != null && head.done.get(); ) {
+            waiting.remove(head);
+        }
+        waiting.offer(waiter);
+    }
+
+    /**
+     * @param nanos    time to wait, {@link Long#MAX_VALUE} to wait indefinitely
+     */
+    private R acquire(long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long start = metrics == null ? 0 : System.nanoTime();
+        Entry<R> entry = poll();
+        if (entry != null) {
+            return metrics == null ? entry.resource : acquired(entry, start);
+        }
+        long deadline = System.nanoTime() + nanos;
+        waiters.incrementAndGet();
+        try {
+            for (;;) {
+                Waiter waiter = new Waiter();
+                enqueue(waiter);
+                entry = poll();
+                if (entry != null) {
+                    leave(waiter);
+                    return metrics == null ? entry.resource : acquired(entry, start);
+                }
+                long remaining = nanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    leave(waiter);
+                    if (metrics != null) {
+                        metrics.timedOut();
+                    }
+                    return null;
+                }
+                if (nanos == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, remaining);
+                }
+                if (Thread.interrupted()) {
+                    leave(waiter);
+                    throw new InterruptedException();
+                }
+                // woken up, timed out or spuriously; scan again with a fresh waiter
+                cancel(waiter);
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Records acquisition of the entry, if any, in the metrics.
+     */
+    private R acquired(Entry<R> entry, long start) {
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        entry.acquiredNanos = now;
+        if (metrics.detectsLeaks()) {
+            entry.acquiredAt = new Throwable("Acquired " + entry.resource + " by " + Thread.currentThread().getName());
+        }
+        metrics.acquired(now - start);
+        return entry.resource;
     }
+
+    int size() {
+        return entries.size();
+    }
+
+    int inUse() {
+        int inUse = 0;
+        for (Entry<R> entry : entries) {
+            if (entry.inUse.get()) {
+                inUse++;
+            }
+        }
+        return inUse;
+    }
+
+    int waiters() {
+        return waiters.get();
+    }
+
+    void collectLeaks(long thresholdNanos, List<PoolMetrics.Leak> leaks) {
+        long now = System.nanoTime();
+        for (Entry<R> entry : entries) {
+            Throwable acquiredAt = entry.acquiredAt;
+            long held = now - entry.acquiredNanos;
+            if (acquiredAt != null && entry.inUse.get() && held > thresholdNanos) {
+                leaks.add(new PoolMetrics.Leak(entry.resource, held, acquiredAt));
+            }
+        }
+    }
+
 }
@@ -0,0 +1,82 @@
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Runs the {@link ResourcePool} contract tests against {@link FairResourcePool}
+ * and checks arrival order of waiters.
+ */
+public class FairResourcePoolTest extends ResourcePoolTest {
+
+    @Override
+    protected <R> ResourcePool<R> newPool(Collection<? extends R> resources) {
+        return new FairResourcePool<>(resources);
+    }
+
+    private static Thread waitingThread(Runnable body) throws InterruptedException {
+        Thread thread = new Thread(body);
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+
+    @Test
+    public void waiters_are_served_in_arrival_order() throws Exception {
+        Resource resource = new Resource();
+        ResourcePool<Resource> pool = poolOf(resource);
+        pool.acquire();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (String name : asList("first", "second", "third")) {
+            threads.add(waitingThread(() -> {
+                try {
+                    Resource acquired = pool.acquire();
+                    order.add(name);
+                    pool.release(acquired);
+                } catch (InterruptedException e) {
+                    order.add("interrupted");
+                }
+            }));
+        }
+
+        assertNull(pool.tryAcquire());
+        pool.release(resource);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(asList("first", "second", "third"), order);
+    }
+
+    @Test
+    public void timed_out_waiter_leaves_the_queue() throws Exception {
+        Resource resource = new Resource();
+        ResourcePool<Resource> pool = poolOf(resource);
+        pool.acquire();
+
+        assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+        Thread interrupted = waitingThread(() -> {
+            try {
+                pool.acquire();
+            } catch (InterruptedException e) {
+                // expected
+            }
+        });
+        interrupted.interrupt();
+        interrupted.join();
+
+        pool.release(resource);
+        assertSame(resource, pool.tryAcquire());
+    }
+
+}
@@ -0,0 +1,115 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PoolMetricsTest {
+
+    @Test
+    public void counts_resources_in_use_and_idle() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(
+                Arrays.asList(new Resource(), new Resource(), new Resource()), metrics);
+
+        Resource resource = pool.acquire();
+        pool.tryAcquire();
+
+        assertEquals(2, metrics.inUse());
+        assertEquals(1, metrics.idle());
+
+        pool.release(resource);
+
+        assertEquals(1, metrics.inUse());
+        assertEquals(2, metrics.idle());
+    }
+
+    @Test
+    public void records_wait_and_hold_times() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(Arrays.asList(new Resource()), metrics);
+        Resource resource = pool.acquire();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool.release(resource);
+        });
+        releaser.start();
+        pool.release(pool.acquire());
+        releaser.join();
+
+        assertEquals(2, metrics.acquireWait().count());
+        assertTrue(metrics.acquireWait().max(TimeUnit.MILLISECONDS) >= 40);
+        assertEquals(2, metrics.holdTime().count());
+        assertTrue(metrics.holdTime().max(TimeUnit.MILLISECONDS) >= 40);
+    }
+
+    @Test
+    public void counts_waiters_and_timeouts() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(Arrays.asList(new Resource()), metrics);
+        pool.acquire();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                pool.acquire(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        while (metrics.waiters() == 0) {
+            Thread.sleep(1);
+        }
+        waiter.join();
+
+        assertEquals(0, metrics.waiters());
+        assertEquals(1, metrics.timeouts());
+        assertEquals(1, metrics.acquireWait().count());
+    }
+
+    @Test
+    public void reports_resources_held_longer_than_threshold() throws Exception {
+        PoolMetrics metrics = new PoolMetrics(20, TimeUnit.MILLISECONDS);
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(Arrays.asList(new Resource(), new Resource()), metrics);
+
+        Resource leaked = pool.acquire();
+        Resource released = pool.acquire();
+        assertTrue(metrics.leaks().isEmpty());
+
+        Thread.sleep(50);
+        pool.release(released);
+        List<PoolMetrics.Leak> leaks = metrics.leaks();
+
+        assertEquals(1, leaks.size());
+        assertSame(leaked, leaks.get(0).resource());
+        assertTrue(leaks.get(0).held(TimeUnit.MILLISECONDS) >= 20);
+        assertTrue(Arrays.stream(leaks.get(0).acquiredAt().getStackTrace())
+                .anyMatch(frame -> frame.getMethodName().equals("reports_resources_held_longer_than_threshold")));
+    }
+
+    @Test
+    public void leaks_are_not_reported_without_threshold() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(Arrays.asList(new Resource()), metrics);
+        pool.acquire();
+
+        Thread.sleep(10);
+
+        assertTrue(metrics.leaks().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void metrics_cannot_be_shared_by_pools() {
+        PoolMetrics metrics = new PoolMetrics();
+        new ResourcePoolImpl<>(Arrays.asList(new Resource()), metrics);
+        new ResourcePoolImpl<>(Arrays.asList(new Resource()), metrics);
+    }
+
+}
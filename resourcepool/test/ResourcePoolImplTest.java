@@ -0,0 +1,30 @@
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the thread affinity of {@link ResourcePoolImpl}, the {@link ResourcePool}
+ * contract is covered by {@link ResourcePoolTest}.
+ */
+public class ResourcePoolImplTest {
+
+    @Test
+    public void recently_released_resource_is_acquired_first() throws Exception {
+        List<Resource> originalResources = IntStream.range(0, 10)
+                .mapToObj(i -> new Resource()).collect(Collectors.toList());
+        ResourcePool<Resource> pool = new ResourcePoolImpl<>(originalResources);
+
+        Resource first = pool.acquire();
+        Resource second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(second, pool.tryAcquire());
+        assertSame(first, pool.tryAcquire());
+    }
+
+}
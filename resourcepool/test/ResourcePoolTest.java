@@ -11,13 +11,20 @@ import static org.junit.Assert.*;
 
 public class ResourcePoolTest {
 
+    /**
+     * Creates the pool under test, overridden by tests of other implementations.
+     */
+    protected <R> ResourcePool<R> newPool(Collection<? extends R> resources) {
+        return new ResourcePoolImpl<>(resources);
+    }
+
     @SafeVarargs
-    private static <R> ResourcePool<R> poolOf(R... resources) {
+    protected final <R> ResourcePool<R> poolOf(R... resources) {
         return poolOf(Arrays.asList(resources));
     }
 
-    private static <R> ResourcePool<R> poolOf(Collection<? extends R> resources) {
-        return new ResourcePoolImpl<>(Collections.unmodifiableCollection(resources));
+    protected final <R> ResourcePool<R> poolOf(Collection<? extends R> resources) {
+        return newPool(Collections.unmodifiableCollection(resources));
     }
 
     @Test
@@ -183,6 +190,38 @@ public class ResourcePoolTest {
         assertNull(throwableRef.get());
     }
 
+    @Test(timeout = 10000)
+    public void release_wakes_waiter_queued_behind_timed_out_one() throws Exception {
+        Resource originalResource = new Resource();
+        ResourcePool<Resource> pool = poolOf(originalResource);
+
+        pool.acquire();
+
+        Thread timedOutThread = new Thread(() -> {
+            try {
+                pool.acquire(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        timedOutThread.start();
+        Thread.sleep(20);
+        AtomicReference<Resource> resourceRef = new AtomicReference<>();
+        Thread acquireThread = new Thread(() -> {
+            try {
+                resourceRef.set(pool.acquire());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        acquireThread.start();
+        timedOutThread.join();
+        pool.release(originalResource);
+        acquireThread.join();
+
+        assertSame(originalResource, resourceRef.get());
+    }
+
     @Test
     public void stress_test() throws Exception {
         int numberOfResources = 8;
@@ -247,4 +286,53 @@ public class ResourcePoolTest {
         }
         assertEquals(new LinkedHashSet<>(originalResources), finalResources);
     }
+
+    @Test(expected = IllegalStateException.class)
+    public void release_of_spare_resource_fails() throws Exception {
+        Resource resource = new Resource();
+        ResourcePool<Resource> pool = poolOf(resource);
+        pool.release(resource);
+    }
+
+    @Test
+    public void timed_stress_test() throws Exception {
+        int numberOfResources = 4;
+        ResourcePool<Resource> pool = poolOf(IntStream.range(0, numberOfResources)
+                .mapToObj(i -> new Resource()).collect(Collectors.toList()));
+
+        AtomicInteger acquiredResourceCounter = new AtomicInteger();
+        List<Throwable> problems = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> testThreads = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 64; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Resource resource = pool.acquire(1, TimeUnit.MILLISECONDS);
+                        if (resource == null) {
+                            continue;
+                        }
+                        if (acquiredResourceCounter.incrementAndGet() > numberOfResources) {
+                            fail("More than " + numberOfResources + " resources were acquired at the same time");
+                        }
+                        acquiredResourceCounter.decrementAndGet();
+                        pool.release(resource);
+                    }
+                } catch (Throwable t) {
+                    problems.add(t);
+                }
+            });
+            thread.start();
+            testThreads.add(thread);
+        }
+        for (Thread thread : testThreads) {
+            thread.join();
+        }
+
+        assertTrue(problems.toString(), problems.isEmpty());
+        for (int i = 0; i < numberOfResources; i++) {
+            assertNotNull(pool.tryAcquire());
+        }
+        assertNull(pool.tryAcquire());
+    }
 }
@@ -0,0 +1,85 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Contends a few hundred resources from 100k virtual threads. Pools that block in
+ * {@code synchronized} sections would pin carrier threads and make this test crawl.
+ * Skipped on runtimes without virtual threads.
+ */
+public class VirtualThreadStressTest {
+
+    private static final int RESOURCES = 256;
+    private static final int THREADS = 100_000;
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private void stress(Function<Collection<Resource>, ResourcePool<Resource>> factory) throws Exception {
+        ExecutorService executor = newVirtualThreadExecutor();
+        assumeNotNull(executor);
+
+        List<Resource> resources = IntStream.range(0, RESOURCES)
+                .mapToObj(i -> new Resource()).collect(Collectors.toList());
+        ResourcePool<Resource> pool = factory.apply(resources);
+        AtomicInteger acquired = new AtomicInteger();
+        AtomicInteger maxAcquired = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(executor.submit(() -> {
+                    Resource resource = pool.acquire();
+                    maxAcquired.accumulateAndGet(acquired.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    acquired.decrementAndGet();
+                    pool.release(resource);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(maxAcquired.get() <= RESOURCES);
+        for (int i = 0; i < RESOURCES; i++) {
+            assertNotNull(pool.tryAcquire());
+        }
+        assertNull(pool.tryAcquire());
+        assertEquals(0, acquired.get());
+    }
+
+    @Test(timeout = 60000)
+    public void lock_free_pool() throws Exception {
+        stress(ResourcePoolImpl::new);
+    }
+
+    @Test(timeout = 60000)
+    public void fair_pool() throws Exception {
+        stress(FairResourcePool::new);
+    }
+
+}